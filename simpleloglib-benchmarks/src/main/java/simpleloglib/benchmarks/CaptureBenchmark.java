@@ -0,0 +1,75 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Config;
+import simpleloglib.Logger;
+import simpleloglib.clocks.ClockFactory;
+import simpleloglib.loggers.LogManager;
+
+/**
+ * Caller side cost of {@code Logger.info} for each capture path: submitting
+ * to the thread pool, publishing straight into the event buffer, and filling
+ * a preallocated event in garbage free mode, with the system and the cached
+ * clock. Events go to a {@link NullAppender}.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaptureBenchmark {
+
+    @Param({ "pool", "direct", "garbageFree" })
+    private String capture;
+
+    @Param({ "system", "cached" })
+    private String clock;
+
+    private Logger logger;
+
+    @Setup
+    public void setup() {
+        Config.SINGLETON.setDirectHandoff(capture.equals("direct"));
+        Config.SINGLETON.setGarbageFree(capture.equals("garbageFree"));
+        Config.SINGLETON.setAppenders(List.of(new NullAppender()));
+        Config.SINGLETON.setClock(clock.equals("cached") ? ClockFactory.getCachedInstance()
+                : ClockFactory.getDefaultInstance());
+        logger = LogManager.getLogger(CaptureBenchmark.class);
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("user %s logged in", "alice");
+    }
+}
@@ -0,0 +1,76 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.benchmarks;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Event;
+import simpleloglib.Filter;
+import simpleloglib.Level;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Cost of the threshold filter for an accepted and a rejected event.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    private Filter filter;
+    private Event info;
+    private Event debug;
+
+    @Setup
+    public void setup() {
+        filter = FilterFactory.getDefaultFilter(Level.INFO);
+        var logger = LogManager.getLogger(FilterBenchmark.class);
+        info = EventFactory.getDefaultInstance(null, "main", Level.INFO,
+                MsgFactory.getDefaultInstance("user %s logged in", "alice"), OffsetDateTime.now(), logger);
+        debug = EventFactory.getDefaultInstance(null, "main", Level.DEBUG,
+                MsgFactory.getDefaultInstance("user %s logged in", "alice"), OffsetDateTime.now(), logger);
+    }
+
+    @Benchmark
+    public boolean accepted() {
+        return filter.accept(info);
+    }
+
+    @Benchmark
+    public boolean rejected() {
+        return filter.accept(debug);
+    }
+}
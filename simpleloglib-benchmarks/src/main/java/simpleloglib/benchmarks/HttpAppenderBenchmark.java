@@ -0,0 +1,106 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.benchmarks;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Appender;
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.appenders.AppenderFactory;
+import simpleloglib.appenders.HttpAppenderConfig;
+import simpleloglib.appenders.HttpBodyFormat;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Events per second posted by the HTTP appender to a local {@link LogServer}.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpAppenderBenchmark {
+    private static final int EVENTS = 100;
+
+    @Param({ "JSON_ARRAY", "NDJSON" })
+    private HttpBodyFormat format;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    private LogServer server;
+    private Appender appender;
+    private Layout layout;
+    private List<Event> events;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new LogServer();
+        appender = AppenderFactory.getHttpAppender("http",
+                HttpAppenderConfig.builder().url(server.url()).format(format).gzip(gzip).build());
+        appender.setFilter(FilterFactory.getDefaultFilter(simpleloglib.Level.TRACE));
+        layout = LayoutFactory.getDefaultInstance("[%level] %date - %logger - %thread : %msg");
+        var logger = LogManager.getLogger(HttpAppenderBenchmark.class);
+        events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(EventFactory.getDefaultInstance(null, "main", simpleloglib.Level.INFO,
+                    MsgFactory.getDefaultInstance("request %d served", i), OffsetDateTime.now(), logger));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush() {
+        appender.flush();
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.close();
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void post() {
+        appender.append(events, layout);
+    }
+}
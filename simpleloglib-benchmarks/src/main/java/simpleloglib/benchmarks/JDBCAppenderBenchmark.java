@@ -0,0 +1,118 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Appender;
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.appenders.AppenderFactory;
+import simpleloglib.appenders.Column;
+import simpleloglib.appenders.JDBCAppenderConfig;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Rows per second inserted into SQLite by the JDBC appender, with JDBC
+ * batches and with multi row statements.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JDBCAppenderBenchmark {
+    private static final int ROWS = 1000;
+
+    @Param({ "false", "true" })
+    private boolean bulkInsert;
+
+    private Path directory;
+    private Appender appender;
+    private Layout layout;
+    private List<Event> events;
+
+    @Setup
+    public void setup() throws IOException, SQLException {
+        directory = Files.createTempDirectory("simpleloglib-jdbc");
+        var url = "jdbc:sqlite:" + directory.resolve("bench.db");
+        try (var connection = DriverManager.getConnection(url); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE application_log (event_id TEXT, event_date TIMESTAMP, level TEXT, "
+                    + "message TEXT, logger TEXT, thread TEXT)");
+        }
+        var columns = new ArrayList<Column>();
+        var names = List.of("event_id", "event_date", "level", "message", "logger", "thread");
+        for (int i = 0; i < names.size(); i++) {
+            columns.add(new Column(names.get(i), i + 1));
+        }
+        appender = AppenderFactory.getJDBCAppender("db", JDBCAppenderConfig.builder().tableName("application_log")
+                .columns(columns).connectURI(url).batchSize(ROWS).bulkInsert(bulkInsert).build());
+        appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+        layout = LayoutFactory.getDefaultInstance("%msg");
+        var logger = LogManager.getLogger(JDBCAppenderBenchmark.class);
+        events = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            events.add(EventFactory.getDefaultInstance(null, "main", Level.INFO,
+                    MsgFactory.getDefaultInstance("row %d", i), OffsetDateTime.now(), logger));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        appender.close();
+        try (var files = Files.list(directory)) {
+            for (var file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insert() {
+        appender.append(events, layout);
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.benchmarks;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.events.EventFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Compares the compiled layout returned by {@link LayoutFactory} against the
+ * previous {@link LegacyLayout}.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayoutBenchmark {
+
+    @Param({ "[%level] %date - %logger - %thread : %msg %throwable" })
+    private String pattern;
+
+    private Layout compiled;
+    private Layout legacy;
+    private Event event;
+
+    @Setup
+    public void setup() {
+        compiled = LayoutFactory.getDefaultInstance(pattern);
+        legacy = new LegacyLayout(pattern);
+        event = EventFactory.getDefaultInstance(new RuntimeException("benchmark"), "main", Level.INFO,
+                MsgFactory.getDefaultInstance("user %s logged in", "alice"), OffsetDateTime.now(),
+                LogManager.getLogger(LayoutBenchmark.class));
+    }
+
+    @Benchmark
+    public String compiled() {
+        return compiled.format(event);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacy.format(event);
+    }
+}
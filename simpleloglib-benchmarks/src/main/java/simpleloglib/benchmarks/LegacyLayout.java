@@ -0,0 +1,79 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.benchmarks;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import simpleloglib.Event;
+import simpleloglib.Layout;
+
+/**
+ * Copy of the layout implementation used up to 1.0.4, kept only as a
+ * baseline for {@link LayoutBenchmark}. It rebuilds a priority queue and
+ * re-parses the format string for every event.
+ *
+ * @author lunalobos
+ */
+public class LegacyLayout implements Layout {
+    private static final Pattern THROWABLE = Pattern.compile("%throwable");
+    private static final Pattern MESSSAGE = Pattern.compile("%msg");
+    private static final Pattern DATE = Pattern.compile("%date");
+    private static final Pattern LEVEL = Pattern.compile("%level");
+    private static final Pattern THREAD = Pattern.compile("%thread");
+    private static final Pattern LOGGER = Pattern.compile("%logger");
+
+    private String format;
+    private PriorityQueue<Getter> getters = new PriorityQueue<>();
+
+    public LegacyLayout(String layoutConfigString) {
+        format = layoutConfigString;
+        format = compile(format, THROWABLE, Event::throwable);
+        format = compile(format, MESSSAGE, Event::message);
+        format = compile(format, DATE, Event::timestamp);
+        format = compile(format, LEVEL, Event::level);
+        format = compile(format, THREAD, Event::threadName);
+        format = compile(format, LOGGER, Event::logger);
+    }
+
+    private String compile(String format, Pattern pattern, Function<Event, Object> property) {
+        var matcher = pattern.matcher(format);
+        if (matcher.find()) {
+            getters.add(new Getter(matcher.start(), property));
+            return matcher.replaceFirst("%s");
+        }
+        return format;
+    }
+
+    @Override
+    public String format(Event event) {
+        List<Object> objects = new LinkedList<>();
+        PriorityQueue<Getter> getters = new PriorityQueue<>(this.getters);
+        while (!getters.isEmpty()) {
+            objects.add(getters.poll().property.apply(event));
+        }
+        return format.formatted(objects.toArray());
+    }
+
+    private record Getter(int priority, Function<Event, Object> property) implements Comparable<Getter> {
+        @Override
+        public int compareTo(Getter other) {
+            return Integer.compare(priority, other.priority);
+        }
+    }
+}
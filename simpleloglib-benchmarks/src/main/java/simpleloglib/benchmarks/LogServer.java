@@ -0,0 +1,68 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.benchmarks;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local {@link HttpServer} stub for the HTTP appender. It reads each body and
+ * answers 204.
+ *
+ * @author lunalobos
+ */
+public class LogServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder received = new LongAdder();
+
+    public LogServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.createContext("/logs", exchange -> {
+            try (var body = exchange.getRequestBody()) {
+                received.add(body.readAllBytes().length);
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:%d/logs".formatted(server.getAddress().getPort());
+    }
+
+    /**
+     * Gets the number of body bytes received so far.
+     * @return the number of bytes
+     */
+    public long received() {
+        return received.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
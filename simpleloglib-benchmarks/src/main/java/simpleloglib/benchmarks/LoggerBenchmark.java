@@ -0,0 +1,75 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Config;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.Pipeline;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+
+/**
+ * Caller side cost of a logger call that is enabled, so an event is captured
+ * and handed to a {@link NullAppender}, and of one disabled by the logger
+ * level, which should return before allocating anything.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggerBenchmark {
+
+    private Logger enabled;
+    private Logger disabled;
+
+    @Setup
+    public void setup() {
+        Config.SINGLETON.setPipeline(new Pipeline(List.of(new NullAppender()),
+                LayoutFactory.getDefaultInstance("%msg"), Level.TRACE, Map.of("quiet", Level.WARN)));
+        enabled = LogManager.getLogger("loud.Service");
+        disabled = LogManager.getLogger("quiet.Service");
+    }
+
+    @Benchmark
+    public void enabled() {
+        enabled.info("user %s logged in", "alice");
+    }
+
+    @Benchmark
+    public void disabled() {
+        disabled.info("user %s logged in", "alice");
+    }
+}
@@ -0,0 +1,83 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Message;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Cost of formatting messages: the varargs message, the fixed arguments
+ * message, the allocation free formatter used in garbage free mode and a
+ * message that was already formatted for another appender.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBenchmark {
+    private static final String FORMAT = "user %s logged in from %s after %d attempts in %d ms";
+
+    private final Object[] args = { "alice", "10.0.0.1", 3, 250 };
+    private final StringBuilder buffer = new StringBuilder(256);
+    private Message cached;
+
+    @Setup
+    public void setup() {
+        cached = MsgFactory.getDefaultInstance(FORMAT, args);
+        cached.getFormattedMessage();
+    }
+
+    @Benchmark
+    public String simple() {
+        return MsgFactory.getDefaultInstance(FORMAT, args).getFormattedMessage();
+    }
+
+    @Benchmark
+    public String fixedArgs() {
+        return MsgFactory.getDefaultInstance("user %s logged in", "alice").getFormattedMessage();
+    }
+
+    @Benchmark
+    public StringBuilder cached() {
+        buffer.setLength(0);
+        cached.formatTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public StringBuilder formatTo() {
+        buffer.setLength(0);
+        MsgFactory.formatTo(buffer, FORMAT, args, args.length);
+        return buffer;
+    }
+}
@@ -0,0 +1,55 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.benchmarks;
+
+import java.util.Collection;
+
+import simpleloglib.Appender;
+import simpleloglib.Event;
+import simpleloglib.Filter;
+import simpleloglib.Layout;
+
+/**
+ * Appender that formats nothing and writes nothing, so benchmarks measure the
+ * pipeline alone.
+ *
+ * @author lunalobos
+ */
+public class NullAppender implements Appender {
+    private long appended;
+
+    @Override
+    public void append(Event event, Layout layout) {
+        appended++;
+    }
+
+    @Override
+    public void append(Collection<Event> events, Layout layout) {
+        appended += events.size();
+    }
+
+    @Override
+    public String name() {
+        return "null";
+    }
+
+    @Override
+    public void setFilter(Filter filter) {
+    }
+
+    public long appended() {
+        return appended;
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks matching a pattern once per thread count with the GC
+ * profiler, and prints the score and the bytes allocated per operation of
+ * every run side by side.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar simpleloglib.benchmarks.Scaling LoggerBenchmark 1,2,4,8
+ * </pre>
+ *
+ * @author lunalobos
+ */
+public class Scaling {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws RunnerException {
+        if (args.length == 0) {
+            System.out.println("Usage: Scaling <benchmark pattern> [thread counts, default 1,2,4]");
+            return;
+        }
+        var threadCounts = Arrays.stream((args.length > 1 ? args[1] : "1,2,4").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        var rows = new ArrayList<String>();
+        for (int threads : threadCounts) {
+            var options = new OptionsBuilder().include(args[0]).threads(threads).addProfiler(GCProfiler.class)
+                    .build();
+            for (RunResult result : new Runner(options).run()) {
+                rows.add(row(result, threads));
+            }
+        }
+        System.out.println();
+        System.out.println("%-60s %7s %16s %8s %12s".formatted("Benchmark", "Threads", "Score", "Unit", "B/op"));
+        rows.stream().sorted().forEach(System.out::println);
+    }
+
+    private static String row(RunResult result, int threads) {
+        var params = result.getParams();
+        var benchmark = params.getBenchmark();
+        var name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        var labels = new StringBuilder();
+        for (var key : params.getParamsKeys()) {
+            labels.append(labels.isEmpty() ? " " : ",").append(key).append('=').append(params.getParam(key));
+        }
+        var primary = result.getPrimaryResult();
+        var allocation = result.getSecondaryResults().entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith(ALLOCATION))
+                .mapToDouble(entry -> entry.getValue().getScore())
+                .findFirst()
+                .orElse(Double.NaN);
+        return "%-60s %7d %16.3f %8s %12.1f".formatted(name + labels, threads, primary.getScore(),
+                primary.getScoreUnit(), allocation);
+    }
+}
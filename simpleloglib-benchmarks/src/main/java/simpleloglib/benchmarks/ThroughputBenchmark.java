@@ -0,0 +1,129 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simpleloglib.Appender;
+import simpleloglib.Config;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.appenders.AppenderFactory;
+import simpleloglib.appenders.Column;
+import simpleloglib.appenders.FileAppenderConfig;
+import simpleloglib.appenders.HttpAppenderConfig;
+import simpleloglib.appenders.JDBCAppenderConfig;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.loggers.LogManager;
+
+/**
+ * Events per second logged through the whole pipeline into each kind of
+ * appender. The event buffer blocks producers when it is full, so once it has
+ * filled up the score is bounded by what the appender sustains.
+ *
+ * @author lunalobos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThroughputBenchmark {
+
+    @Param({ "null", "file", "binary", "deferred", "jdbc", "http" })
+    private String appender;
+
+    private Path directory;
+    private LogServer server;
+    private Logger logger;
+
+    @Setup
+    public void setup() throws IOException, SQLException {
+        directory = Files.createTempDirectory("simpleloglib-throughput");
+        var target = switch (appender) {
+            case "file" -> AppenderFactory.getRollingFileAppender("file",
+                    FileAppenderConfig.builder().filePath(directory.resolve("bench.log").toString())
+                            .maxFileSize(64L << 20).maxHistory(1).compress(false).build());
+            case "binary", "deferred" -> AppenderFactory.getBinaryFileAppender("binary",
+                    FileAppenderConfig.builder().filePath(directory.resolve("bench.slog").toString())
+                            .deferredFormatting(appender.equals("deferred")).build());
+            case "jdbc" -> jdbcAppender();
+            case "http" -> {
+                server = new LogServer();
+                yield AppenderFactory.getHttpAppender("http", HttpAppenderConfig.builder().url(server.url()).build());
+            }
+            default -> new NullAppender();
+        };
+        target.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+        Config.SINGLETON.setAppenders(List.of(target));
+        logger = LogManager.getLogger(ThroughputBenchmark.class);
+    }
+
+    private Appender jdbcAppender() throws SQLException {
+        var url = "jdbc:sqlite:" + directory.resolve("bench.db");
+        try (var connection = DriverManager.getConnection(url); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE application_log (event_id TEXT, event_date TIMESTAMP, level TEXT, "
+                    + "message TEXT, logger TEXT, thread TEXT)");
+        }
+        var columns = new ArrayList<Column>();
+        var names = List.of("event_id", "event_date", "level", "message", "logger", "thread");
+        for (int i = 0; i < names.size(); i++) {
+            columns.add(new Column(names.get(i), i + 1));
+        }
+        return AppenderFactory.getJDBCAppender("jdbc", JDBCAppenderConfig.builder().tableName("application_log")
+                .columns(columns).connectURI(url).bulkInsert(true).build());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Config.SINGLETON.setAppenders(List.of(new NullAppender()));
+        if (server != null) {
+            server.close();
+        }
+        try (var files = Files.list(directory)) {
+            for (var file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("user %s logged in", "alice");
+    }
+}
@@ -53,4 +53,25 @@ public interface Appender {
      * @param filter
      */
     void setFilter(Filter filter);
+
+    /**
+     * Get the filter of the target.
+     * @return the filter, or null if there is none
+     */
+    default Filter filter() {
+        return null;
+    }
+
+    /**
+     * Writes out anything the {@code Appender} is holding in memory.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Flushes and releases the resources held by the {@code Appender}. It is
+     * called once, after the last event has been appended.
+     */
+    default void close() {
+    }
 }
@@ -0,0 +1,93 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the batches, events and errors of each appender, by name, so the
+ * counts survive a reload that recreates the appender. Counters are lock free
+ * and can be read at any time.
+ * 
+ * @author lunalobos
+ */
+public final class AppenderStats {
+    private static final ConcurrentMap<String, AppenderStats> STATS = new ConcurrentHashMap<>();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile String lastError;
+
+    private AppenderStats() {
+    }
+
+    /**
+     * Get the stats of an appender, creating them on first use.
+     * @param appenderName
+     * @return the stats
+     */
+    public static AppenderStats of(String appenderName) {
+        return STATS.computeIfAbsent(appenderName, name -> new AppenderStats());
+    }
+
+    /**
+     * Records one batch handed to the appender.
+     * @param size the number of events in the batch, before filtering
+     */
+    public void batch(int size) {
+        batches.increment();
+        events.add(size);
+    }
+
+    public void error(Throwable error) {
+        error(String.valueOf(error));
+    }
+
+    public void error(String message) {
+        errors.increment();
+        lastError = Instant.now() + " " + message;
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    public long events() {
+        return events.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Get the last error with the time it happened.
+     * @return the last error, or null if there was none
+     */
+    public String lastError() {
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        return "AppenderStats(batches = %d, events = %d, errors = %d, lastError = %s)".formatted(batches(), events(),
+                errors(), lastError);
+    }
+}
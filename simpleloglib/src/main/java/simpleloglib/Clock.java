@@ -0,0 +1,32 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+/**
+ * Source of event timestamps. Loggers read it once per event on the calling
+ * thread, so implementations must be cheap and should not allocate. The
+ * precise clock is the exception: it reads {@link java.time.Instant#now()},
+ * which allocates unless escape analysis removes the instant.
+ * 
+ * @author lunalobos
+ */
+public interface Clock {
+    /**
+     * Get the current time as nanoseconds since the epoch. Clocks without
+     * sub-millisecond precision return a multiple of one million.
+     * @return the epoch nanoseconds
+     */
+    long epochNanos();
+}
@@ -18,12 +18,19 @@ package simpleloglib;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -31,7 +38,14 @@ import lombok.Data;
 import simpleloglib.appenders.AppenderFactory;
 import simpleloglib.appenders.Column;
 import simpleloglib.appenders.ConnectionFactory;
+import simpleloglib.appenders.FileAppenderConfig;
+import simpleloglib.appenders.FlushPolicy;
+import simpleloglib.appenders.HttpAppenderConfig;
+import simpleloglib.appenders.HttpBodyFormat;
 import simpleloglib.appenders.JDBCAppenderConfig;
+import simpleloglib.appenders.RolloverInterval;
+import simpleloglib.clocks.ClockFactory;
+import simpleloglib.executors.ExecutorFactory;
 import simpleloglib.filters.FilterFactory;
 import simpleloglib.layouts.LayoutFactory;
 
@@ -44,6 +58,15 @@ import simpleloglib.layouts.LayoutFactory;
 @Data
 public class Config {
 	private static final String DEFAULT_LAYOUT = "[%level] %date - %logger - %thread : %msg %throwable";
+	private static final int DEFAULT_BUFFER_SIZE = 16384;
+	private static final int DEFAULT_ASYNC_QUEUE_SIZE = 8192;
+	private static final String ROOT_LOGGER = "root";
+	private static final String CONFIG_RESOURCE = "simplelog.json";
+	/**
+	 * System property with the path of a config file to use instead of
+	 * simplelog.json from the classpath.
+	 */
+	public static final String CONFIG_PROPERTY = "simpleloglib.config";
 	private static final ConfigTemplate DEFAULT_TEMPLATE = defaultTemplate();
 	/**
 	 * Singleton instance. Do not modify this instance if you do not know what you
@@ -56,6 +79,7 @@ public class Config {
 		var template = new ConfigTemplate();
 		template.setThreads(10);
 		template.setBatchSize(100);
+		template.setBufferSize(DEFAULT_BUFFER_SIZE);
 		template.setLayout(DEFAULT_LAYOUT);
 		var consoleAppenderTemplate = new AppenderTemplate();
 		consoleAppenderTemplate.setType("console");
@@ -68,52 +92,357 @@ public class Config {
 	}
 
 	private ExecutorService threadPool;
+	/**
+	 * When true the thread pool and the async appender workers run on virtual
+	 * threads.
+	 */
+	private boolean virtualThreads;
 	private int batchSize;
-	private Collection<Appender> appenders;
-	private Layout layout;
+	private int bufferSize;
+	/**
+	 * When true loggers fill preallocated mutable events in place on the caller
+	 * thread, and appenders format into reused buffers.
+	 */
+	private boolean garbageFree;
+	/**
+	 * When true loggers publish events into the event buffer from the calling
+	 * thread instead of submitting them to the thread pool.
+	 */
+	private boolean directHandoff;
+	/**
+	 * The source of event timestamps.
+	 */
+	private Clock clock = ClockFactory.getDefaultInstance();
+	/**
+	 * What happens to new events when the event buffer is full.
+	 */
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+	/**
+	 * Events at or above this level are never dropped by
+	 * {@link OverflowPolicy#DROP_BELOW_LEVEL}.
+	 */
+	private Level overflowLevel = Level.WARN;
+	/**
+	 * When true the pipeline records the latency of each stage in
+	 * {@link Latencies}.
+	 */
+	private boolean latencyHistograms;
+	/**
+	 * When true the pipeline and appender MBeans are registered.
+	 */
+	private boolean jmx = true;
+	/**
+	 * The appenders, layout and levels in use. Replaced as a whole on every
+	 * reload, never modified in place.
+	 */
+	private volatile Pipeline pipeline;
+	/**
+	 * Incremented every time a pipeline is swapped in, so loggers can tell
+	 * whether their cached level is stale.
+	 */
+	private volatile long generation;
+	private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+	private final ReentrantLock reloadLock = new ReentrantLock();
 
 	private Config() {
-		ConfigTemplate template = DEFAULT_TEMPLATE;
+		ConfigTemplate template = null;
+		var location = configLocation();
+		if (location != null) {
+			try {
+				template = readTemplate(location);
+			} catch (IOException | IllegalArgumentException e) {
+				e.printStackTrace();
+			}
+		}
+		if (template == null) {
+			System.out.println("WARNING: simplelog.json not found, loading default config.");
+			template = DEFAULT_TEMPLATE;
+		}
+		loadSettings(template);
+		pipeline = createPipeline(template);
+		if (template.isWatch()) {
+			ConfigWatcher.start(location);
+		}
+	}
+
+	/**
+	 * The config file named by the {@value #CONFIG_PROPERTY} system property,
+	 * or simplelog.json from the classpath.
+	 * @return the location of the config file, or null if there is none
+	 */
+	static URL configLocation() {
+		var path = System.getProperty(CONFIG_PROPERTY);
+		if (path == null) {
+			return Config.class.getClassLoader().getResource(CONFIG_RESOURCE);
+		}
 		try {
-			template = new ObjectMapper().readValue(Config.class.getClassLoader().getResourceAsStream("simplelog.json"),
-					ConfigTemplate.class);
-		} catch (IOException | IllegalArgumentException e) {
+			return Path.of(path).toUri().toURL();
+		} catch (MalformedURLException e) {
 			e.printStackTrace();
-			System.out.println("WARNING: simplelog.json not found, loading default config.");
+			return null;
 		}
-		loadFromTemplate(template);
-		
 	}
 
-	public void loadFromTemplate(ConfigTemplate template) {
-		threadPool = Executors.newFixedThreadPool(template.getThreads());
+	static ConfigTemplate readTemplate(URL location) throws IOException {
+		try (var input = location.openStream()) {
+			return new ObjectMapper().readValue(input, ConfigTemplate.class);
+		}
+	}
+
+	/**
+	 * Loads the settings that size the logging system. They are read once, so
+	 * changing them takes a restart.
+	 * @param template
+	 */
+	private void loadSettings(ConfigTemplate template) {
 		batchSize = template.getBatchSize();
-		appenders = template.getAppenders().stream().map(templ -> {
-			Appender appender;
-			switch (templ.getType()) {
-				case "console":
-					appender = AppenderFactory.getDefaultInstance(templ.getName());
-					break;
-				case "jdbc":
-					appender = AppenderFactory.getJDBCAppender(templ.getName(), createJDBCAppenderConfig(templ));
-					break;
-				case "file":
-					appender = AppenderFactory.getFileAppender(templ.getName(),templ.getFilePath());
-					break;
-				case "http":
-					appender = AppenderFactory.getHttpAppender(templ.getName(), templ.getConnectURL(), templ.getAuthorization());
-					break;
-				default:
-					appender = AppenderFactory.getDefaultInstance(templ.getName());
+		bufferSize = template.getBufferSize() > 0 ? template.getBufferSize() : DEFAULT_BUFFER_SIZE;
+		garbageFree = template.isGarbageFree();
+		directHandoff = template.isDirectHandoff();
+		latencyHistograms = template.isLatencyHistograms();
+		if (template.getJmx() != null) {
+			jmx = template.getJmx();
+		}
+		if (template.getClock() != null) {
+			clock = switch (template.getClock()) {
+				case "precise" -> ClockFactory.getPreciseInstance();
+				case "cached" -> ClockFactory.getCachedInstance();
+				default -> ClockFactory.getDefaultInstance();
+			};
+		}
+		if (template.getOverflowPolicy() != null) {
+			overflowPolicy = OverflowPolicy.valueOf(template.getOverflowPolicy().toUpperCase());
+		}
+		if (template.getOverflowLevel() != null) {
+			overflowLevel = Level.valueOf(template.getOverflowLevel());
+		}
+		virtualThreads = "virtual".equalsIgnoreCase(template.getExecutor());
+		threadPool = virtualThreads ? ExecutorFactory.getVirtualInstance(bufferSize)
+				: ExecutorFactory.getDefaultInstance(template.getThreads(), bufferSize);
+	}
+
+	/**
+	 * Builds a new pipeline from a template and swaps it in. Only appenders,
+	 * filters, layout and logger levels are reloaded.
+	 * @param template
+	 */
+	public void loadFromTemplate(ConfigTemplate template) {
+		setPipeline(createPipeline(template));
+	}
+
+	private Pipeline createPipeline(ConfigTemplate template) {
+		var appenders = new ArrayList<Appender>();
+		try {
+			for (var templ : template.getAppenders()) {
+				appenders.add(createAppender(templ));
+			}
+			var layout = LayoutFactory.getDefaultInstance(template.getLayout());
+			var minimumLevel = template.getAppenders().stream()
+					.map(templ -> templ.getFilter() != null ? Level.valueOf(templ.getFilter().getLevel()) : Level.TRACE)
+					.min(Level::compareTo)
+					.orElse(Level.FATAL);
+			var levels = new HashMap<String, Level>();
+			if (template.getLoggers() != null) {
+				template.getLoggers().forEach((name, level) -> levels.put(name.equals(ROOT_LOGGER) ? "" : name,
+						Level.valueOf(level.toUpperCase())));
+			}
+			return new Pipeline(appenders, layout, minimumLevel, levels);
+		} catch (RuntimeException e) {
+			for (var appender : appenders) {
+				appender.close();
+			}
+			throw e;
+		}
+	}
+
+	private Appender createAppender(AppenderTemplate templ) {
+		Appender appender;
+		switch (templ.getType()) {
+			case "console":
+				appender = AppenderFactory.getDefaultInstance(templ.getName());
+				break;
+			case "jdbc":
+				appender = AppenderFactory.getJDBCAppender(templ.getName(), createJDBCAppenderConfig(templ));
+				break;
+			case "file":
+				appender = AppenderFactory.getFileAppender(templ.getName(), createFileAppenderConfig(templ));
+				break;
+			case "rollingFile":
+				appender = AppenderFactory.getRollingFileAppender(templ.getName(), createFileAppenderConfig(templ));
+				break;
+			case "mmap":
+				appender = AppenderFactory.getMemoryMappedFileAppender(templ.getName(),
+						createFileAppenderConfig(templ));
+				break;
+			case "binary":
+				appender = AppenderFactory.getBinaryFileAppender(templ.getName(), createFileAppenderConfig(templ));
+				break;
+			case "http":
+				appender = AppenderFactory.getHttpAppender(templ.getName(), createHttpAppenderConfig(templ));
+				break;
+			default:
+				appender = AppenderFactory.getDefaultInstance(templ.getName());
+		}
+		if (templ.isAsync()) {
+			var policy = templ.getOverflowPolicy() != null
+					? OverflowPolicy.valueOf(templ.getOverflowPolicy().toUpperCase())
+					: overflowPolicy;
+			appender = AppenderFactory.getAsyncAppender(appender,
+					templ.getAsyncQueueSize() > 0 ? templ.getAsyncQueueSize() : DEFAULT_ASYNC_QUEUE_SIZE, policy,
+					overflowLevel, virtualThreads);
+		}
+		if (templ.getFilter() != null) {
+			appender.setFilter(FilterFactory.getDefaultFilter(Level.valueOf(templ.getFilter().getLevel())));
+		} else {
+			appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+		}
+		return appender;
+	}
+
+	/**
+	 * Publishes a new pipeline. Events captured from now on go through it. The
+	 * thread pushing events closes the appenders of the previous pipeline that
+	 * are not reused once it moves to the new one, flushing what they still
+	 * buffer. Only when nothing listens for swaps, because no event has been
+	 * logged yet, they are closed here.
+	 * @param next
+	 */
+	public void setPipeline(Pipeline next) {
+		reloadLock.lock();
+		try {
+			var previous = pipeline;
+			if (next == previous) {
+				return;
+			}
+			previous.supersede(next);
+			pipeline = next;
+			generation++;
+			for (var listener : listeners) {
+				listener.run();
+			}
+			if (listeners.isEmpty()) {
+				previous.retire(next);
 			}
-			if (templ.getFilter() != null) {
-				appender.setFilter(FilterFactory.getDefaultFilter(Level.valueOf(templ.getFilter().getLevel())));
+		} finally {
+			reloadLock.unlock();
+		}
+	}
+
+	/**
+	 * Registers an action to run after every pipeline swap. Once one is
+	 * registered, the previous pipeline is left for it to retire.
+	 * @param listener
+	 */
+	public void addListener(Runnable listener) {
+		listeners.add(listener);
+	}
+
+	public Collection<Appender> getAppenders() {
+		return pipeline.appenders();
+	}
+
+	public void setAppenders(Collection<Appender> appenders) {
+		setPipeline(pipeline.withAppenders(appenders));
+	}
+
+	public Layout getLayout() {
+		return pipeline.layout();
+	}
+
+	public void setLayout(Layout layout) {
+		setPipeline(pipeline.withLayout(layout));
+	}
+
+	public Level getMinimumLevel() {
+		return pipeline.minimumLevel();
+	}
+
+	/**
+	 * Sets the level of a logger name prefix at runtime, keeping the appenders.
+	 * The change lasts until the next reload.
+	 * @param loggerName the prefix, or root
+	 * @param level the new level, or null to remove the setting
+	 */
+	public void setLoggerLevel(String loggerName, Level level) {
+		var name = loggerName.equals(ROOT_LOGGER) ? "" : loggerName;
+		reloadLock.lock();
+		try {
+			var levels = new HashMap<>(pipeline.loggerLevels());
+			if (level == null) {
+				levels.remove(name);
 			} else {
-				appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+				levels.put(name, level);
 			}
-			return appender;
-		}).toList();
-		layout = LayoutFactory.getDefaultInstance(template.getLayout());
+			setPipeline(pipeline.withLoggerLevels(levels));
+		} finally {
+			reloadLock.unlock();
+		}
+	}
+
+	/**
+	 * Resolves the level of a logger from the most specific configured name
+	 * prefix, so {@code com.acme.db} applies to {@code com.acme.db.Pool}. The
+	 * result is never below {@link #getMinimumLevel()}.
+	 * @param loggerName
+	 * @return the effective level
+	 */
+	public Level getEffectiveLevel(String loggerName) {
+		var current = pipeline;
+		var levels = current.loggerLevels();
+		var name = loggerName;
+		var level = levels.get(name);
+		while (level == null && !name.isEmpty()) {
+			int dot = name.lastIndexOf('.');
+			name = dot > 0 ? name.substring(0, dot) : "";
+			level = levels.get(name);
+		}
+		var minimum = current.minimumLevel();
+		return level != null && level.ordinal() > minimum.ordinal() ? level : minimum;
+	}
+
+	private FileAppenderConfig createFileAppenderConfig(AppenderTemplate templ) {
+		var builder = FileAppenderConfig.builder().filePath(templ.getFilePath()).force(templ.isForce());
+		if (templ.getFlushPolicy() != null) {
+			builder.flushPolicy(FlushPolicy.valueOf(templ.getFlushPolicy().toUpperCase()));
+		}
+		if (templ.getFlushIntervalMillis() > 0) {
+			builder.flushIntervalMillis(templ.getFlushIntervalMillis());
+		}
+		if (templ.getWriteBufferSize() > 0) {
+			builder.writeBufferSize(templ.getWriteBufferSize());
+		}
+		if (templ.getMapRegionSize() > 0) {
+			builder.mapRegionSize(templ.getMapRegionSize());
+		}
+		if (templ.getMaxFileSize() > 0) {
+			builder.maxFileSize(templ.getMaxFileSize());
+		}
+		if (templ.getRolloverInterval() != null) {
+			builder.rolloverInterval(RolloverInterval.valueOf(templ.getRolloverInterval().toUpperCase()));
+		}
+		if (templ.getMaxHistory() != null) {
+			builder.maxHistory(templ.getMaxHistory());
+		}
+		if (templ.getCompress() != null) {
+			builder.compress(templ.getCompress());
+		}
+		builder.deferredFormatting(templ.isDeferredFormatting());
+		return builder.build();
+	}
+
+	private HttpAppenderConfig createHttpAppenderConfig(AppenderTemplate templ) {
+		var builder = HttpAppenderConfig.builder().url(templ.getConnectURL()).authorization(templ.getAuthorization())
+				.gzip(templ.isGzip());
+		if (templ.getHttpFormat() != null) {
+			builder.format(HttpBodyFormat.valueOf(templ.getHttpFormat().toUpperCase()));
+		}
+		if (templ.getMaxInFlightRequests() > 0) {
+			builder.maxInFlightRequests(templ.getMaxInFlightRequests());
+		}
+		if (templ.getTimeoutMillis() > 0) {
+			builder.timeoutMillis(templ.getTimeoutMillis());
+		}
+		return builder.build();
 	}
 
 	private JDBCAppenderConfig createJDBCAppenderConfig(AppenderTemplate templ) {
@@ -135,13 +464,21 @@ public class Config {
 			}
 
 		}
-		return JDBCAppenderConfig.builder().columns(columns).tableName(templ.getTableName()).connectionFactory(factory)
-				.connectURI(templ.getConnectURL()).build();
+		var builder = JDBCAppenderConfig.builder().columns(columns).tableName(templ.getTableName())
+				.connectionFactory(factory).connectURI(templ.getConnectURL());
+		if (templ.getJdbcBatchSize() > 0) {
+			builder.batchSize(templ.getJdbcBatchSize());
+		}
+		if (templ.getMaxParameters() > 0) {
+			builder.maxParameters(templ.getMaxParameters());
+		}
+		builder.bulkInsert(templ.isBulkInsert());
+		return builder.build();
 	}
 
 	public void shutdown() throws InterruptedException {
-		getThreadPool().awaitTermination(10000, TimeUnit.MILLISECONDS);
 		getThreadPool().shutdown();
+		getThreadPool().awaitTermination(10000, TimeUnit.MILLISECONDS);
 	}
 
 }
@@ -152,11 +489,62 @@ class ConfigTemplate {
 	 * The number of threads to use by the logging system
 	 */
 	private int threads;
+	/*
+	 * The threads handing events off: platform (a fixed pool sized by threads)
+	 * or virtual (one virtual thread per event)
+	 */
+	private String executor;
 	/*
 	 * The batch size indicates the number of events to be batched before sending
 	 * them to the appenders
 	 */
 	private int batchSize;
+	/*
+	 * The number of slots preallocated for events waiting to be pushed to the
+	 * appenders, rounded up to a power of two
+	 */
+	private int bufferSize;
+	/*
+	 * Enables the garbage free mode, where events are preallocated mutable
+	 * objects reused for the whole lifetime of the application
+	 */
+	private boolean garbageFree;
+	/*
+	 * Publishes events into the event buffer from the logging thread instead of
+	 * going through the thread pool
+	 */
+	private boolean directHandoff;
+	/*
+	 * The source of event timestamps: system, precise or cached
+	 */
+	private String clock;
+	/*
+	 * What happens to new events when a queue is full: block, drop_newest,
+	 * drop_oldest, drop_below_level or synchronous
+	 */
+	private String overflowPolicy;
+	/*
+	 * The lowest level never dropped by the drop_below_level policy
+	 */
+	private String overflowLevel;
+	/*
+	 * Records latency histograms for each stage of the pipeline
+	 */
+	private boolean latencyHistograms;
+	/*
+	 * Registers MBeans with live metrics and level control, true by default
+	 */
+	private Boolean jmx;
+	/*
+	 * The levels per logger name prefix, with root as the default for every
+	 * logger
+	 */
+	private Map<String, String> loggers;
+	/*
+	 * Whether appenders, filters, layout and logger levels are reloaded when
+	 * this file changes
+	 */
+	private boolean watch;
 	/*
 	 * The appender templates
 	 */
@@ -178,9 +566,55 @@ class AppenderTemplate {
 	 */
 	private String type;
 	/*
-	 * The path to the file in case the appender type is file
+	 * The path to the file in case the appender type is file, rollingFile, mmap
+	 * or binary
 	 */
 	private String filePath;
+	/*
+	 * When a file appender writes its buffer: batch, interval or full
+	 */
+	private String flushPolicy;
+	/*
+	 * The flush period in case the flush policy is interval
+	 */
+	private long flushIntervalMillis;
+	/*
+	 * The size in bytes of the write buffer in case the appender type is file
+	 */
+	private int writeBufferSize;
+	/*
+	 * Whether to force flushed bytes to the storage device in case the appender
+	 * type is file
+	 */
+	private boolean force;
+	/*
+	 * The size in bytes of each mapped region in case the appender type is mmap
+	 */
+	private long mapRegionSize;
+	/*
+	 * The size in bytes that triggers a rollover in case the appender type is
+	 * rollingFile
+	 */
+	private long maxFileSize;
+	/*
+	 * The time based rollover in case the appender type is rollingFile: none,
+	 * hourly or daily
+	 */
+	private String rolloverInterval;
+	/*
+	 * The number of rolled files to keep in case the appender type is
+	 * rollingFile
+	 */
+	private Integer maxHistory;
+	/*
+	 * Whether rolled files are gzipped in case the appender type is rollingFile
+	 */
+	private Boolean compress;
+	/*
+	 * Whether messages are stored as their format and parameters, formatted
+	 * only when the file is read, in case the appender type is binary
+	 */
+	private boolean deferredFormatting;
 	/*
 	 * The url to connect to in case the appender type is jdbc or http
 	 */
@@ -189,6 +623,24 @@ class AppenderTemplate {
 	 * The authorization in case the appender type is http
 	 */
 	private String authorization;
+	/*
+	 * The request body format in case the appender type is http: json_array or
+	 * ndjson
+	 */
+	private String httpFormat;
+	/*
+	 * Whether request bodies are gzipped in case the appender type is http
+	 */
+	private boolean gzip;
+	/*
+	 * The maximum number of unanswered requests in case the appender type is
+	 * http
+	 */
+	private int maxInFlightRequests;
+	/*
+	 * The request timeout in case the appender type is http
+	 */
+	private long timeoutMillis;
 	/*
 	 * The class name of the connection in case the appender type is jdbc
 	 */
@@ -197,10 +649,38 @@ class AppenderTemplate {
 	 * The columns in case the appender type is jdbc
 	 */
 	private String tableName;
+	/*
+	 * Whether the appender consumes events from its own queue on a dedicated
+	 * thread
+	 */
+	private boolean async;
+	/*
+	 * The capacity of the queue in case the appender is async
+	 */
+	private int asyncQueueSize;
+	/*
+	 * The overflow policy of the queue in case the appender is async, overrides
+	 * the global one
+	 */
+	private String overflowPolicy;
 	/*
 	 * The filter template
 	 */
 	private FilterTemplate filter;
+	/*
+	 * The maximum number of rows per JDBC batch in case the appender type is jdbc
+	 */
+	private int jdbcBatchSize;
+	/*
+	 * Whether to insert with multi row statements in case the appender type is
+	 * jdbc
+	 */
+	private boolean bulkInsert;
+	/*
+	 * The maximum number of bind parameters per statement the driver accepts in
+	 * case the appender type is jdbc
+	 */
+	private int maxParameters;
 	/*
 	 * The column tempaltes in case the appender type is jdbc
 	 */
@@ -0,0 +1,115 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Reloads the configuration whenever the config file changes. The parent
+ * directory is watched rather than the file, so editors that save by replacing
+ * the file are noticed too. If the new file cannot be read or built the
+ * current configuration is kept.
+ * 
+ * @author lunalobos
+ */
+class ConfigWatcher implements Runnable {
+	/**
+	 * Editors usually save in several writes, so events are collected for a
+	 * while before the file is read.
+	 */
+	private static final long SETTLE_MILLIS = 100;
+
+	static void start(URL location) {
+		if (location == null || !"file".equals(location.getProtocol())) {
+			System.out.println("WARNING: %s is not a file, it will not be watched for changes.".formatted(location));
+			return;
+		}
+		Path file;
+		try {
+			file = Path.of(location.toURI()).toAbsolutePath();
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			e.printStackTrace();
+			return;
+		}
+		var thread = new Thread(new ConfigWatcher(file), "simpleloglib-config-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private final Path file;
+
+	private ConfigWatcher(Path file) {
+		this.file = file;
+	}
+
+	@Override
+	public void run() {
+		try (var watchService = file.getFileSystem().newWatchService()) {
+			file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+			while (true) {
+				var key = watchService.take();
+				boolean changed = changed(key);
+				if (!key.reset()) {
+					System.out.println("WARNING: %s is gone, it is no longer watched for changes.".formatted(file.getParent()));
+					return;
+				}
+				if (changed) {
+					Thread.sleep(SETTLE_MILLIS);
+					drain(watchService);
+					reload();
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean changed(WatchKey key) {
+		boolean changed = false;
+		for (var event : key.pollEvents()) {
+			changed |= event.kind() == OVERFLOW || file.getFileName().equals(event.context());
+		}
+		return changed;
+	}
+
+	private void drain(WatchService watchService) {
+		WatchKey key;
+		while ((key = watchService.poll()) != null) {
+			key.pollEvents();
+			key.reset();
+		}
+	}
+
+	private void reload() {
+		try {
+			Config.SINGLETON.loadFromTemplate(Config.readTemplate(file.toUri().toURL()));
+		} catch (IOException | RuntimeException e) {
+			System.out.println("ERROR: could not reload %s, keeping the current configuration: %s".formatted(file,
+					e.getMessage()));
+		}
+	}
+}
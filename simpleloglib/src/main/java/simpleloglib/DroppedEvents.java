@@ -0,0 +1,74 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the events dropped by the overflow policies, per level. Counters are
+ * lock free and can be read at any time.
+ * 
+ * @author lunalobos
+ */
+public final class DroppedEvents {
+    private static final LongAdder[] COUNTS = new LongAdder[Level.values().length];
+
+    static {
+        for (int i = 0; i < COUNTS.length; i++) {
+            COUNTS[i] = new LongAdder();
+        }
+    }
+
+    private DroppedEvents() {
+    }
+
+    /**
+     * Records one dropped event.
+     * @param level the level of the dropped event
+     */
+    public static void increment(Level level) {
+        COUNTS[level.ordinal()].increment();
+    }
+
+    /**
+     * Get the number of dropped events of a level.
+     * @param level
+     * @return the number of dropped events
+     */
+    public static long count(Level level) {
+        return COUNTS[level.ordinal()].sum();
+    }
+
+    /**
+     * Get the number of dropped events of every level.
+     * @return the number of dropped events
+     */
+    public static long total() {
+        long total = 0;
+        for (var count : COUNTS) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public static String summary() {
+        var summary = new StringBuilder("DroppedEvents(");
+        for (var level : Level.values()) {
+            summary.append(level).append(" = ").append(count(level));
+            summary.append(level == Level.FATAL ? ")" : ", ");
+        }
+        return summary.toString();
+    }
+}
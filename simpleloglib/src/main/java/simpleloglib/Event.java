@@ -16,6 +16,7 @@ limitations under the License.
 package simpleloglib;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 
 /**
  * An event is a log message with useful information about it, like timestamp,
@@ -54,9 +55,45 @@ public interface Event {
      */
     OffsetDateTime timestamp();
 
+    /**
+     * Get the timestamp as milliseconds since the epoch. Implementations that
+     * capture primitive timestamps override this so layouts never have to
+     * build an {@link OffsetDateTime}.
+     * @return the epoch milliseconds
+     */
+    default long epochMillis() {
+        return timestamp().toInstant().toEpochMilli();
+    }
+
+    /**
+     * Get the nanoseconds within the millisecond of the timestamp.
+     * @return the nanoseconds, from 0 to 999,999
+     */
+    default int nanoOfMillisecond() {
+        return timestamp().getNano() % 1_000_000;
+    }
+
+    /**
+     * Get the offset the event was created with. Layouts render the timestamp
+     * with it, or in the system default zone when there is none.
+     * @return the offset, or null for events captured as a primitive timestamp
+     */
+    default ZoneOffset offset() {
+        return timestamp().getOffset();
+    }
+
     /**
      * Get the logger associated with this event.
      * @return the logger
      */
     Logger logger();
+
+    /**
+     * Get an event that stays valid after the current {@code append} call.
+     * Events reused by the garbage free mode return a copy.
+     * @return this event or an immutable copy of it
+     */
+    default Event toImmutable() {
+        return this;
+    }
 }
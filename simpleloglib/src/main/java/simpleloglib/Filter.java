@@ -26,4 +26,20 @@ public interface Filter {
      * @return true if the event should be accepted
      */
     public boolean accept(Event event);
+
+    /**
+     * Get the number of events accepted so far.
+     * @return the count, or -1 if the filter does not count
+     */
+    default long accepted() {
+        return -1;
+    }
+
+    /**
+     * Get the number of events rejected so far.
+     * @return the count, or -1 if the filter does not count
+     */
+    default long rejected() {
+        return -1;
+    }
 }
@@ -0,0 +1,120 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms for each stage of the pipeline, recorded only when
+ * {@code latencyHistograms} is enabled in the configuration. Appender
+ * histograms are kept by appender name and time one {@code append} call, that
+ * is one batch; the worker of an async appender records the calls to its
+ * delegate under the name followed by {@code .delegate}.
+ * 
+ * @author lunalobos
+ */
+public final class Latencies {
+
+	/**
+	 * The timed stages of the pipeline.
+	 */
+	public enum Stage {
+		/**
+		 * From the logger call until the event is handed off, on the calling
+		 * thread.
+		 */
+		CALLER_ENQUEUE,
+		/**
+		 * From the logger call until the consumer starts pushing the event to
+		 * the appenders.
+		 */
+		QUEUE_DWELL,
+		/**
+		 * One call to the layout.
+		 */
+		LAYOUT
+	}
+
+	/**
+	 * Whether latencies are recorded. Read once, so a disabled check costs
+	 * nothing once compiled.
+	 */
+	public static final boolean ENABLED = Config.SINGLETON.isLatencyHistograms();
+
+	private static final LatencyHistogram[] STAGES = new LatencyHistogram[Stage.values().length];
+	private static final ConcurrentMap<String, LatencyHistogram> APPENDERS = new ConcurrentHashMap<>();
+
+	static {
+		for (int i = 0; i < STAGES.length; i++) {
+			STAGES[i] = new LatencyHistogram();
+		}
+	}
+
+	private Latencies() {
+	}
+
+	public static void record(Stage stage, long nanos) {
+		STAGES[stage.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Records one {@code append} call.
+	 * @param appenderName
+	 * @param nanos
+	 */
+	public static void recordAppend(String appenderName, long nanos) {
+		APPENDERS.computeIfAbsent(appenderName, name -> new LatencyHistogram()).record(nanos);
+	}
+
+	public static LatencySnapshot snapshot(Stage stage) {
+		return STAGES[stage.ordinal()].snapshot();
+	}
+
+	/**
+	 * Get the latencies of an appender.
+	 * @param appenderName
+	 * @return the snapshot, empty if the appender has recorded nothing
+	 */
+	public static LatencySnapshot snapshot(String appenderName) {
+		var histogram = APPENDERS.get(appenderName);
+		return histogram != null ? histogram.snapshot() : new LatencySnapshot(new long[0]);
+	}
+
+	/**
+	 * Get a snapshot of every stage followed by one per appender, keyed
+	 * {@code append.<name>}.
+	 * @return the snapshots
+	 */
+	public static Map<String, LatencySnapshot> snapshots() {
+		var snapshots = new LinkedHashMap<String, LatencySnapshot>();
+		for (var stage : Stage.values()) {
+			snapshots.put(stage.name(), snapshot(stage));
+		}
+		APPENDERS.entrySet().stream().sorted(Map.Entry.comparingByKey())
+				.forEach(entry -> snapshots.put("append." + entry.getKey(), entry.getValue().snapshot()));
+		return snapshots;
+	}
+
+	public static String summary() {
+		var summary = new StringJoiner(", ", "Latencies(", ")");
+		snapshots().forEach((name, snapshot) -> summary.add(name + " = " + snapshot));
+		return summary.toString();
+	}
+}
@@ -0,0 +1,101 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram. Values up to
+ * about 68 seconds are counted in buckets no wider than 1/64 of their value,
+ * so every percentile is accurate to within about 1.6%. Recording is a single
+ * lock free increment on a stripe picked by thread id, so threads rarely share
+ * a counter; stripes are allocated on first use.
+ * 
+ * @author lunalobos
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int HALF = SUB_BUCKETS / 2;
+	private static final long MAX_VALUE = (1L << 36) - 1;
+	static final int BUCKETS = index(MAX_VALUE) + 1;
+
+	private final AtomicReferenceArray<AtomicLongArray> stripes;
+	private final int mask;
+
+	public LatencyHistogram() {
+		int size = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+		stripes = new AtomicReferenceArray<>(size);
+		mask = size - 1;
+	}
+
+	/**
+	 * Records one value. Negative values count as zero and values above the
+	 * range as the largest value.
+	 * @param nanos
+	 */
+	public void record(long nanos) {
+		int stripe = (int) Thread.currentThread().threadId() & mask;
+		var counts = stripes.get(stripe);
+		if (counts == null) {
+			stripes.compareAndSet(stripe, null, new AtomicLongArray(BUCKETS));
+			counts = stripes.get(stripe);
+		}
+		counts.incrementAndGet(index(nanos));
+	}
+
+	/**
+	 * Sums the stripes. Values recorded while the snapshot is taken may or may
+	 * not be included.
+	 * @return the current distribution
+	 */
+	public LatencySnapshot snapshot() {
+		var counts = new long[BUCKETS];
+		for (int i = 0; i < stripes.length(); i++) {
+			var stripe = stripes.get(i);
+			if (stripe != null) {
+				for (int bucket = 0; bucket < BUCKETS; bucket++) {
+					counts[bucket] += stripe.get(bucket);
+				}
+			}
+		}
+		return new LatencySnapshot(counts);
+	}
+
+	static int index(long value) {
+		long clamped = Math.min(Math.max(value, 0L), MAX_VALUE);
+		if (clamped < SUB_BUCKETS) {
+			return (int) clamped;
+		}
+		int shift = 64 - Long.numberOfLeadingZeros(clamped) - SUB_BUCKET_BITS;
+		return SUB_BUCKETS + (shift - 1) * HALF + (int) (clamped >>> shift) - HALF;
+	}
+
+	/**
+	 * The highest value counted in a bucket.
+	 * @param index
+	 * @return the upper bound of the bucket
+	 */
+	static long highestValue(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / HALF + 1;
+		long low = (long) ((index - SUB_BUCKETS) % HALF + HALF) << shift;
+		return low + (1L << shift) - 1;
+	}
+}
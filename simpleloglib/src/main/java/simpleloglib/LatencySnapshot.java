@@ -0,0 +1,92 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib;
+
+/**
+ * Immutable copy of a {@link LatencyHistogram}. Values are in nanoseconds and
+ * each percentile is reported as the highest value of its bucket.
+ * 
+ * @author lunalobos
+ */
+public final class LatencySnapshot {
+	private final long[] counts;
+	private final long count;
+
+	LatencySnapshot(long[] counts) {
+		this.counts = counts;
+		long total = 0;
+		for (long bucket : counts) {
+			total += bucket;
+		}
+		this.count = total;
+	}
+
+	/**
+	 * Get the number of recorded values.
+	 * @return the count
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * Get the value below or at which the given percentage of the recorded
+	 * values fall.
+	 * @param percentile between 0 and 100
+	 * @return the value in nanoseconds, 0 if nothing was recorded
+	 */
+	public long percentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100.0) / 100.0));
+		long seen = 0;
+		for (int bucket = 0; bucket < counts.length; bucket++) {
+			seen += counts[bucket];
+			if (seen >= rank) {
+				return LatencyHistogram.highestValue(bucket);
+			}
+		}
+		return max();
+	}
+
+	public long p50() {
+		return percentile(50.0);
+	}
+
+	public long p99() {
+		return percentile(99.0);
+	}
+
+	public long p999() {
+		return percentile(99.9);
+	}
+
+	public long max() {
+		for (int bucket = counts.length - 1; bucket >= 0; bucket--) {
+			if (counts[bucket] > 0) {
+				return LatencyHistogram.highestValue(bucket);
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public String toString() {
+		return "LatencySnapshot(count = %d, p50 = %d ns, p99 = %d ns, p999 = %d ns, max = %d ns)".formatted(count,
+				p50(), p99(), p999(), max());
+	}
+}
@@ -31,4 +31,14 @@ public interface Layout {
      * @return the formatted string
      */
     String format(Event event);
+
+    /**
+     * Format the event appending the result to a buffer, so callers can reuse
+     * the same buffer for many events.
+     * @param event
+     * @param buffer
+     */
+    default void format(Event event, StringBuilder buffer) {
+        buffer.append(format(event));
+    }
 }
@@ -15,30 +15,104 @@ limitations under the License.
 
 package simpleloglib;
 
+import java.util.function.Supplier;
+
 /**
  * Loggers are used by the user to log events. A basic implementation is provided
  * by {@link simpleloglib.loggers.LogManager.getLogger(Class<?> classObj)}.
  * 
+ * <p>Formats follow {@link String#formatted(Object...)}. Neither the format nor
+ * the supplier are evaluated on the caller thread; they run only once an
+ * appender accepts the event.
+ * 
  * @author lunalobos
  */
 public interface Logger {
     void trace(String msg);
     void trace(Message msg);
     void trace(Throwable t);
+    void trace(String msg, Throwable t);
+    void trace(String format, Object arg);
+    void trace(String format, Object arg1, Object arg2);
+    void trace(String format, Object arg1, Object arg2, Object arg3);
+    void trace(String format, Object... args);
+    void trace(Supplier<Message> msgSupplier);
     void debug(String msg);
     void debug(Message msg);
     void debug(Throwable t);
+    void debug(String msg, Throwable t);
+    void debug(String format, Object arg);
+    void debug(String format, Object arg1, Object arg2);
+    void debug(String format, Object arg1, Object arg2, Object arg3);
+    void debug(String format, Object... args);
+    void debug(Supplier<Message> msgSupplier);
     void info(String msg);
     void info(Message msg);
     void info(Throwable t);
+    void info(String msg, Throwable t);
+    void info(String format, Object arg);
+    void info(String format, Object arg1, Object arg2);
+    void info(String format, Object arg1, Object arg2, Object arg3);
+    void info(String format, Object... args);
+    void info(Supplier<Message> msgSupplier);
     void warn(String msg);
     void warn(Message msg);
     void warn(Throwable t);
+    void warn(String msg, Throwable t);
+    void warn(String format, Object arg);
+    void warn(String format, Object arg1, Object arg2);
+    void warn(String format, Object arg1, Object arg2, Object arg3);
+    void warn(String format, Object... args);
+    void warn(Supplier<Message> msgSupplier);
     void error(String msg);
     void error(Message msg);
     void error(Throwable t);
+    void error(String msg, Throwable t);
+    void error(String format, Object arg);
+    void error(String format, Object arg1, Object arg2);
+    void error(String format, Object arg1, Object arg2, Object arg3);
+    void error(String format, Object... args);
+    void error(Supplier<Message> msgSupplier);
     void fatal(String msg);
     void fatal(Message msg);
     void fatal(Throwable t);
+    void fatal(String msg, Throwable t);
+    void fatal(String format, Object arg);
+    void fatal(String format, Object arg1, Object arg2);
+    void fatal(String format, Object arg1, Object arg2, Object arg3);
+    void fatal(String format, Object... args);
+    void fatal(Supplier<Message> msgSupplier);
     String name();
+
+    /**
+     * Checks whether an event of the given level would reach at least one
+     * appender. Disabled calls are discarded without allocating anything.
+     * @param level
+     * @return true if the level is enabled
+     */
+    boolean isEnabled(Level level);
+
+    default boolean isTraceEnabled() {
+        return isEnabled(Level.TRACE);
+    }
+
+    default boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    default boolean isInfoEnabled() {
+        return isEnabled(Level.INFO);
+    }
+
+    default boolean isWarnEnabled() {
+        return isEnabled(Level.WARN);
+    }
+
+    default boolean isErrorEnabled() {
+        return isEnabled(Level.ERROR);
+    }
+
+    default boolean isFatalEnabled() {
+        return isEnabled(Level.FATAL);
+    }
 }
@@ -22,10 +22,46 @@ package simpleloglib;
  * 
  * <p>The library implementation for event handling will call getFormattedMessage
  * in a separete thread, so the main thread will not block, and logging will be
- * as fast as possible.
+ * as fast as possible. Parameterized messages format once and cache the
+ * result for every other appender.
  * 
  * @author lunalobos
  */
 public interface Message {
     String getFormattedMessage();
+
+    /**
+     * Appends the formatted message to a buffer. Implementations override this
+     * to format without building an intermediate string.
+     * @param buffer
+     */
+    default void formatTo(StringBuilder buffer) {
+        buffer.append(getFormattedMessage());
+    }
+
+    /**
+     * Gets the format of a parameterized message, so appenders can store it
+     * with the raw parameters and leave the formatting to whoever reads them.
+     * @return the format, or null if the message is not parameterized
+     */
+    default String getFormat() {
+        return null;
+    }
+
+    /**
+     * Gets the number of parameters of a parameterized message.
+     * @return the number of parameters
+     */
+    default int getParameterCount() {
+        return 0;
+    }
+
+    /**
+     * Gets a parameter of a parameterized message, as it was logged.
+     * @param index from 0 to {@link #getParameterCount()} exclusive
+     * @return the parameter
+     */
+    default Object getParameter(int index) {
+        throw new IndexOutOfBoundsException(index);
+    }
 }
@@ -0,0 +1,47 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+/**
+ * What happens to an event when a bounded queue of the logging pipeline is
+ * full. An async appender waits for room only for a bounded time, since its
+ * caller hands off events to every other appender too.
+ * 
+ * @author lunalobos
+ */
+public enum OverflowPolicy {
+    /**
+     * The thread handing off the event waits until there is room.
+     */
+    BLOCK,
+    /**
+     * The new event is dropped.
+     */
+    DROP_NEWEST,
+    /**
+     * The thread handing off the event drops the oldest queued events to make
+     * room, without waiting for the consumer.
+     */
+    DROP_OLDEST,
+    /**
+     * Events below the overflow level are dropped, the others wait until there
+     * is room.
+     */
+    DROP_BELOW_LEVEL,
+    /**
+     * The thread handing off the event appends it itself.
+     */
+    SYNCHRONOUS
+}
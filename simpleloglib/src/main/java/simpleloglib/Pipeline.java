@@ -0,0 +1,141 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of everything events go through once they are captured:
+ * the appenders with their filters, the layout and the logger levels. A reload
+ * builds a complete new pipeline and publishes it with a single volatile write,
+ * so a batch is always pushed through one consistent pipeline. Only the thread
+ * pushing batches retires a pipeline, once it has moved on to a later one.
+ * 
+ * @author lunalobos
+ */
+public final class Pipeline {
+	private final List<Appender> appenders;
+	private final Layout layout;
+	private final Level minimumLevel;
+	private final Map<String, Level> loggerLevels;
+	private volatile boolean retired;
+	private volatile Pipeline next;
+
+	public Pipeline(Collection<Appender> appenders, Layout layout, Level minimumLevel,
+			Map<String, Level> loggerLevels) {
+		this.appenders = List.copyOf(appenders);
+		this.layout = layout;
+		this.minimumLevel = minimumLevel;
+		this.loggerLevels = Map.copyOf(loggerLevels);
+	}
+
+	public List<Appender> appenders() {
+		return appenders;
+	}
+
+	public Layout layout() {
+		return layout;
+	}
+
+	/**
+	 * The lowest level accepted by any appender filter. Events below it are
+	 * discarded by the loggers before anything is allocated.
+	 * @return the minimum level
+	 */
+	public Level minimumLevel() {
+		return minimumLevel;
+	}
+
+	/**
+	 * Levels configured per logger name prefix, the root level under the empty
+	 * name.
+	 * @return the logger levels
+	 */
+	public Map<String, Level> loggerLevels() {
+		return loggerLevels;
+	}
+
+	public Pipeline withAppenders(Collection<Appender> appenders) {
+		return new Pipeline(appenders, layout, minimumLevel, loggerLevels);
+	}
+
+	public Pipeline withLayout(Layout layout) {
+		return new Pipeline(appenders, layout, minimumLevel, loggerLevels);
+	}
+
+	public Pipeline withLoggerLevels(Map<String, Level> loggerLevels) {
+		return new Pipeline(appenders, layout, minimumLevel, loggerLevels);
+	}
+
+	/**
+	 * Records the pipeline published right after this one, so the pipelines a
+	 * consumer skips over are retired along with this one.
+	 * @param next
+	 */
+	public void supersede(Pipeline next) {
+		this.next = next;
+	}
+
+	/**
+	 * Closes the appenders that are not carried over to the successor, which
+	 * flushes whatever they still buffer. The pipelines published between this
+	 * one and the successor are retired too, and an appender shared by several
+	 * of them is closed once. Only the first call has any effect.
+	 * @param successor the pipeline replacing this one, or null if there is none
+	 */
+	public void retire(Pipeline successor) {
+		Set<Appender> closed = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (var retiring = this; retiring != null && retiring != successor
+				&& !retiring.retired; retiring = retiring.next) {
+			retiring.close(successor, closed);
+		}
+	}
+
+	private synchronized void close(Pipeline successor, Set<Appender> closed) {
+		if (retired) {
+			return;
+		}
+		for (var appender : appenders) {
+			if (successor != null && successor.appenders.stream().anyMatch(kept -> kept == appender)) {
+				continue;
+			}
+			if (!closed.add(appender)) {
+				continue;
+			}
+			try {
+				appender.close();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+		retired = true;
+	}
+
+	public boolean isRetired() {
+		return retired;
+	}
+
+	@Override
+	public String toString() {
+		return "Pipeline(appenders = %s, layout = %s, minimumLevel = %s, loggerLevels = %s)".formatted(appenders,
+				layout, minimumLevel, loggerLevels);
+	}
+}
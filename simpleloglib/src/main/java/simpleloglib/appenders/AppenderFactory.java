@@ -22,6 +22,8 @@ import simpleloglib.Appender;
 import simpleloglib.Event;
 import simpleloglib.Filter;
 import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.OverflowPolicy;
 
 /**
  * Appender factory for implementations provided by this library.
@@ -60,6 +62,97 @@ public class AppenderFactory {
         return new FileAppender(name, path);
     }
 
+    /**
+     * Retrieves an {@link Appender} that writes to a file with the given buffering
+     * and flush settings
+     * @param name
+     * @param config
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getFileAppender(String name, FileAppenderConfig config) {
+        return new FileAppender(name, config);
+    }
+
+    /**
+     * Retrieves an {@link Appender} that writes to a file and rolls it over by
+     * size or time, compressing and pruning rolled files in the background
+     * @param name
+     * @param config
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getRollingFileAppender(String name, FileAppenderConfig config) {
+        return new RollingFileAppender(name, config);
+    }
+
+    /**
+     * Retrieves an {@link Appender} that writes to a memory mapped file, mapping
+     * {@code mapRegionSize} bytes at a time
+     * @param name
+     * @param config
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getMemoryMappedFileAppender(String name, FileAppenderConfig config) {
+        return new MemoryMappedFileAppender(name, config);
+    }
+
+    /**
+     * Retrieves an {@link Appender} that writes events to a file in a compact
+     * binary format, with the logger and thread names dictionary encoded. The
+     * layout is ignored; {@link BinaryLogReader} turns the file back into text.
+     * With {@code deferredFormatting} messages are stored as their format and
+     * parameters
+     * @param name
+     * @param config
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getBinaryFileAppender(String name, FileAppenderConfig config) {
+        return new FileAppender(name, config, new BinaryEventEncoder(1024, config.isDeferredFormatting()));
+    }
+
+    /**
+     * Wraps an {@link Appender} so it consumes events from its own bounded
+     * queue on a dedicated worker thread
+     * @param appender
+     * @param queueSize
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getAsyncAppender(Appender appender, int queueSize) {
+        return new AsyncAppender(appender, queueSize, OverflowPolicy.BLOCK, Level.WARN, false);
+    }
+
+    /**
+     * Wraps an {@link Appender} so it consumes events from its own bounded
+     * queue on a dedicated worker thread, applying an overflow policy when the
+     * queue is full
+     * @param appender
+     * @param queueSize
+     * @param overflowPolicy
+     * @param overflowLevel the lowest level never dropped by
+     * {@link OverflowPolicy#DROP_BELOW_LEVEL}
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getAsyncAppender(Appender appender, int queueSize, OverflowPolicy overflowPolicy,
+            Level overflowLevel) {
+        return new AsyncAppender(appender, queueSize, overflowPolicy, overflowLevel, false);
+    }
+
+    /**
+     * Wraps an {@link Appender} so it consumes events from its own bounded
+     * queue on a dedicated worker thread, which can be a virtual thread for
+     * blocking appenders
+     * @param appender
+     * @param queueSize
+     * @param overflowPolicy
+     * @param overflowLevel the lowest level never dropped by
+     * {@link OverflowPolicy#DROP_BELOW_LEVEL}
+     * @param virtualThread whether the worker is a virtual thread
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getAsyncAppender(Appender appender, int queueSize, OverflowPolicy overflowPolicy,
+            Level overflowLevel, boolean virtualThread) {
+        return new AsyncAppender(appender, queueSize, overflowPolicy, overflowLevel, virtualThread);
+    }
+
     /**
      * Experimental
      * <p>Retrieves an {@link Appender} that writes to a web server using HTTP protocol
@@ -73,20 +166,36 @@ public class AppenderFactory {
         return new HttpAppender(name, url, authorization);
     }
 
+    /**
+     * Retrieves an {@link Appender} that posts batches of events to a web
+     * server through a shared HTTP client, with at most
+     * {@code maxInFlightRequests} requests waiting for a response
+     * @param name
+     * @param config
+     * @return an implementation of {@link Appender}
+     */
+    public static Appender getHttpAppender(String name, HttpAppenderConfig config) {
+        return new HttpAppender(name, config);
+    }
+
 }
 
 class ConsoleAppender implements Appender {
     private String name;
     private Filter filter;
+    private EventEncoder encoder;
 
     public ConsoleAppender(String name) {
         this.name = name;
         filter = null;
+        encoder = new EventEncoder(System.out.charset(), 1024);
     }
     @Override
     public void append(@NonNull Event event, @NonNull Layout layout) {
-        if(filter.accept(event))
-            System.out.println(layout.format(event));
+        if(filter.accept(event)) {
+            var line = encoder.encode(event, layout);
+            System.out.write(line.array(), line.arrayOffset(), line.limit());
+        }
     }
 
     @Override
@@ -106,6 +215,11 @@ class ConsoleAppender implements Appender {
         this.filter = filter;
     }
 
+    @Override
+    public Filter filter() {
+        return filter;
+    }
+
     @Override
     public String toString() {
         return "ConsoleAppender(name = %s, filter = %s)".formatted(name, filter);
@@ -0,0 +1,253 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import simpleloglib.Appender;
+import simpleloglib.AppenderStats;
+import simpleloglib.DroppedEvents;
+import simpleloglib.Event;
+import simpleloglib.Filter;
+import simpleloglib.Latencies;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.OverflowPolicy;
+
+/**
+ * Decouples an appender from the event dispatcher. Accepted events are handed
+ * off to a bounded queue, and a dedicated worker thread drains the queue in
+ * batches into the wrapped appender at its own pace, so a slow appender only
+ * delays its own output. When the queue is full the configured
+ * {@link OverflowPolicy} decides what happens to new events.
+ *
+ * <p>
+ * The thread handing off events is shared by every appender, so policies that
+ * wait for room never wait longer than {@value #BLOCK_TIMEOUT_MILLIS} ms. When
+ * the worker does not catch up in time the event is dropped, and so are the
+ * following ones until the queue has room again.
+ *
+ * @author lunalobos
+ */
+class AsyncAppender implements Appender {
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+    private static final long BLOCK_TIMEOUT_MILLIS = 1000;
+    private static final long FLUSH_TIMEOUT_MILLIS = 10000;
+
+    private final Appender delegate;
+    private final BlockingQueue<Event> queue;
+    private final List<Event> batch;
+    private final Thread worker;
+    private final OverflowPolicy overflowPolicy;
+    private final Level overflowLevel;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Filter filter;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private boolean stalled;
+    private volatile Layout layout;
+    private volatile boolean running = true;
+    private volatile long enqueued;
+    private volatile long appended;
+    private volatile long evicted;
+
+    public AsyncAppender(Appender delegate, int queueSize, OverflowPolicy overflowPolicy, Level overflowLevel,
+            boolean virtualThread) {
+        this.delegate = delegate;
+        this.overflowPolicy = overflowPolicy;
+        this.overflowLevel = overflowLevel;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.batch = new ArrayList<>(Math.min(Math.max(1, queueSize), MAX_BATCH_SIZE));
+        var builder = virtualThread ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        this.worker = builder.name("simpleloglib-async-" + delegate.name()).start(this::work);
+    }
+
+    @Override
+    public void append(Event event, Layout layout) {
+        this.layout = layout;
+        if (filter.accept(event)) {
+            enqueue(event.toImmutable());
+        }
+    }
+
+    @Override
+    public void append(Collection<Event> events, Layout layout) {
+        this.layout = layout;
+        for (var event : events) {
+            if (filter.accept(event)) {
+                enqueue(event.toImmutable());
+            }
+        }
+    }
+
+    private void enqueue(Event event) {
+        if (queue.offer(event)) {
+            enqueued++;
+            stalled = false;
+            return;
+        }
+        overflow();
+        switch (overflowPolicy) {
+            case BLOCK:
+                put(event);
+                break;
+            case DROP_OLDEST:
+                do {
+                    var oldest = queue.poll();
+                    if (oldest != null) {
+                        DroppedEvents.increment(oldest.level());
+                        evicted++;
+                    }
+                } while (!queue.offer(event));
+                enqueued++;
+                break;
+            case DROP_BELOW_LEVEL:
+                if (event.level().ordinal() >= overflowLevel.ordinal()) {
+                    put(event);
+                } else {
+                    DroppedEvents.increment(event.level());
+                }
+                break;
+            case SYNCHRONOUS:
+                appendLocked(List.of(event));
+                break;
+            default:
+                DroppedEvents.increment(event.level());
+        }
+    }
+
+    /**
+     * Waits a bounded time for room. Once the worker has missed the deadline
+     * events are dropped right away until the queue has room again.
+     */
+    private void put(Event event) {
+        try {
+            if (!stalled && queue.offer(event, BLOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                enqueued++;
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!stalled) {
+            stalled = true;
+            System.out.println("WARNING: %s did not catch up within %d ms, dropping events until its queue has room"
+                    .formatted(name(), BLOCK_TIMEOUT_MILLIS));
+        }
+        DroppedEvents.increment(event.level());
+    }
+
+    private void overflow() {
+        if (!overflowed.get() && overflowed.compareAndSet(false, true)) {
+            System.out.println("WARNING: the queue of %s is full, applying overflow policy %s".formatted(name(),
+                    overflowPolicy));
+        }
+    }
+
+    private void appendLocked(List<Event> events) {
+        appendLock.lock();
+        long start = Latencies.ENABLED ? System.nanoTime() : 0L;
+        try {
+            delegate.append(events, layout);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            AppenderStats.of(name()).error(e);
+        } finally {
+            appendLock.unlock();
+        }
+        if (Latencies.ENABLED) {
+            Latencies.recordAppend(name() + ".delegate", System.nanoTime() - start);
+        }
+    }
+
+    private void work() {
+        while (running || !queue.isEmpty()) {
+            Event first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            appendLocked(batch);
+            appended += batch.size();
+            batch.clear();
+        }
+    }
+
+    /**
+     * Waits up to {@value #FLUSH_TIMEOUT_MILLIS} ms for the worker to append
+     * every event handed off so far and flushes the wrapped appender.
+     */
+    @Override
+    public void flush() {
+        long target = enqueued;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MILLIS);
+        while (appended + evicted < target && worker.isAlive()) {
+            if (System.nanoTime() - deadline > 0) {
+                System.out.println("WARNING: %s did not append its queued events within %d ms"
+                        .formatted(name(), FLUSH_TIMEOUT_MILLIS));
+                break;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+        delegate.setFilter(event -> true);
+    }
+
+    @Override
+    public Filter filter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncAppender(delegate = %s, queued = %d)".formatted(delegate, queue.size());
+    }
+}
@@ -0,0 +1,367 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.appenders;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.Message;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Encodes events in the compact binary format read by {@link BinaryLogReader}.
+ * The layout is ignored: the fields are stored as they are and formatted when
+ * the file is decoded.
+ *
+ * <p>A file is a sequence of entries, each one a varint length followed by a
+ * type byte and its payload:
+ * <ul>
+ * <li>{@code 0} segment: the magic {@code SLOG}, a version byte and the
+ * language tag of the writer's format locale in UTF-8 up to the end of the
+ * entry. It starts a new segment, clearing the name dictionaries and the
+ * previous timestamp. Deferred messages of the segment are formatted with
+ * that locale, or with the reader's default when the tag is missing.</li>
+ * <li>{@code 1} name: {@code 0} for a logger, {@code 1} for a thread or
+ * {@code 2} for a message format, then the name in UTF-8. Names get
+ * consecutive ids from zero, per kind and per segment.</li>
+ * <li>{@code 2} event: the level ordinal as a byte, with {@code 0x80} set when
+ * a throwable follows, the zigzag varint difference in epoch milliseconds to
+ * the previous event, the varint nanoseconds within the millisecond, the
+ * varint logger and thread ids, the throwable as a varint length and UTF-8 if
+ * flagged, and the message in UTF-8 up to the end of the entry.</li>
+ * <li>{@code 3} parameterized event: the same fields as an event up to the
+ * throwable, then the varint format id, the varint number of parameters and
+ * each parameter as a type byte and its value.</li>
+ * </ul>
+ * Parameterized events are only written with deferred formatting, for messages
+ * whose parameters are all values as defined by {@link MsgFactory#isValue}.
+ * Integral parameters are zigzag varints, floating point ones are big endian
+ * IEEE 754 bits, characters are varints and strings are a varint length and
+ * UTF-8. Readers skip entries of unknown types. An instance must only be used
+ * by one thread at a time.
+ *
+ * @author lunalobos
+ */
+class BinaryEventEncoder implements RecordEncoder {
+    static final int SEGMENT = 0;
+    static final int NAME = 1;
+    static final int EVENT = 2;
+    static final int PARAMETERIZED_EVENT = 3;
+    static final int LOGGER_NAME = 0;
+    static final int THREAD_NAME = 1;
+    static final int FORMAT_NAME = 2;
+    static final int NULL_PARAMETER = 0;
+    static final int STRING_PARAMETER = 1;
+    static final int INTEGER_PARAMETER = 2;
+    static final int LONG_PARAMETER = 3;
+    static final int SHORT_PARAMETER = 4;
+    static final int BYTE_PARAMETER = 5;
+    static final int DOUBLE_PARAMETER = 6;
+    static final int FLOAT_PARAMETER = 7;
+    static final int FALSE_PARAMETER = 8;
+    static final int TRUE_PARAMETER = 9;
+    static final int CHARACTER_PARAMETER = 10;
+    static final byte[] MAGIC = { 'S', 'L', 'O', 'G' };
+    static final int VERSION = 1;
+    static final int THROWABLE_FLAG = 0x80;
+    /**
+     * Names kept per segment before a new one is started, so threads with
+     * unique names or built formats do not grow the dictionaries forever.
+     */
+    private static final int MAX_NAMES = 1 << 16;
+
+    private final Map<String, Integer> loggerIds = new HashMap<>();
+    private final Map<String, Integer> threadIds = new HashMap<>();
+    private final Map<String, Integer> formatIds = new HashMap<>();
+    private final StringBuilder text = new StringBuilder(512);
+    private final boolean deferredFormatting;
+    private boolean segmentStarted;
+    private long previousMillis;
+    private byte[] bytes;
+    private int position;
+
+    /**
+     * @param initialCapacity
+     * @param deferredFormatting whether messages are stored as their format
+     * and parameters, leaving the formatting to the reader
+     */
+    public BinaryEventEncoder(int initialCapacity, boolean deferredFormatting) {
+        this.bytes = new byte[Math.max(64, initialCapacity)];
+        this.deferredFormatting = deferredFormatting;
+    }
+
+    @Override
+    public ByteBuffer encode(Event event, Layout layout) {
+        position = 0;
+        if (!segmentStarted || loggerIds.size() + threadIds.size() + formatIds.size() >= MAX_NAMES) {
+            startSegment();
+        }
+        String loggerName = event.logger() == null ? "" : event.logger().name();
+        int loggerId = nameId(loggerIds, LOGGER_NAME, loggerName);
+        int threadId = nameId(threadIds, THREAD_NAME, event.threadName() == null ? "" : event.threadName());
+        Message message = event.message();
+        int formatId = -1;
+        int parameterCount = 0;
+        if (deferredFormatting && isParameterized(message)) {
+            formatId = nameId(formatIds, FORMAT_NAME, message.getFormat());
+            parameterCount = message.getParameterCount();
+        }
+
+        String throwable = event.throwable() == null ? "" : event.throwable().toString();
+        long millis = event.epochMillis();
+        long delta = zigzag(millis - previousMillis);
+        previousMillis = millis;
+        int nanos = event.nanoOfMillisecond();
+        int level = event.level().ordinal() | (throwable.isEmpty() ? 0 : THROWABLE_FLAG);
+
+        int throwableLength = utf8Length(throwable);
+        int length = 2 + varintSize(delta) + varintSize(nanos) + varintSize(loggerId) + varintSize(threadId);
+        if (throwableLength > 0) {
+            length += varintSize(throwableLength) + throwableLength;
+        }
+        if (formatId >= 0) {
+            length += varintSize(formatId) + varintSize(parameterCount);
+            for (int i = 0; i < parameterCount; i++) {
+                length += parameterSize(message.getParameter(i));
+            }
+        } else {
+            text.setLength(0);
+            if (message == null) {
+                text.append("null");
+            } else {
+                message.formatTo(text);
+            }
+            length += utf8Length(text);
+        }
+        ensureCapacity(varintSize(length) + length);
+        putVarint(length);
+        bytes[position++] = (byte) (formatId >= 0 ? PARAMETERIZED_EVENT : EVENT);
+        bytes[position++] = (byte) level;
+        putVarint(delta);
+        putVarint(nanos);
+        putVarint(loggerId);
+        putVarint(threadId);
+        if (throwableLength > 0) {
+            putVarint(throwableLength);
+            putUtf8(throwable);
+        }
+        if (formatId >= 0) {
+            putVarint(formatId);
+            putVarint(parameterCount);
+            for (int i = 0; i < parameterCount; i++) {
+                putParameter(message.getParameter(i));
+            }
+        } else {
+            putUtf8(text);
+        }
+        return ByteBuffer.wrap(bytes, 0, position);
+    }
+
+    private static boolean isParameterized(Message message) {
+        if (message == null || message.getFormat() == null) {
+            return false;
+        }
+        for (int i = 0, count = message.getParameterCount(); i < count; i++) {
+            if (!MsgFactory.isValue(message.getParameter(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parameterSize(Object parameter) {
+        if (parameter instanceof String string) {
+            int length = utf8Length(string);
+            return 1 + varintSize(length) + length;
+        } else if (parameter instanceof Integer || parameter instanceof Long || parameter instanceof Short
+                || parameter instanceof Byte) {
+            return 1 + varintSize(zigzag(((Number) parameter).longValue()));
+        } else if (parameter instanceof Double) {
+            return 1 + Long.BYTES;
+        } else if (parameter instanceof Float) {
+            return 1 + Integer.BYTES;
+        } else if (parameter instanceof Character character) {
+            return 1 + varintSize(character.charValue());
+        }
+        return 1;
+    }
+
+    private void putParameter(Object parameter) {
+        if (parameter == null) {
+            bytes[position++] = NULL_PARAMETER;
+        } else if (parameter instanceof String string) {
+            bytes[position++] = STRING_PARAMETER;
+            putVarint(utf8Length(string));
+            putUtf8(string);
+        } else if (parameter instanceof Integer value) {
+            bytes[position++] = INTEGER_PARAMETER;
+            putVarint(zigzag(value));
+        } else if (parameter instanceof Long value) {
+            bytes[position++] = LONG_PARAMETER;
+            putVarint(zigzag(value));
+        } else if (parameter instanceof Short value) {
+            bytes[position++] = SHORT_PARAMETER;
+            putVarint(zigzag(value));
+        } else if (parameter instanceof Byte value) {
+            bytes[position++] = BYTE_PARAMETER;
+            putVarint(zigzag(value));
+        } else if (parameter instanceof Double value) {
+            bytes[position++] = DOUBLE_PARAMETER;
+            putFixed(Double.doubleToRawLongBits(value), Long.BYTES);
+        } else if (parameter instanceof Float value) {
+            bytes[position++] = FLOAT_PARAMETER;
+            putFixed(Float.floatToRawIntBits(value), Integer.BYTES);
+        } else if (parameter instanceof Boolean value) {
+            bytes[position++] = (byte) (value ? TRUE_PARAMETER : FALSE_PARAMETER);
+        } else {
+            bytes[position++] = CHARACTER_PARAMETER;
+            putVarint((Character) parameter);
+        }
+    }
+
+    private void putFixed(long value, int size) {
+        for (int shift = (size - 1) * 8; shift >= 0; shift -= 8) {
+            bytes[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    @Override
+    public void reset() {
+        segmentStarted = false;
+    }
+
+    private void startSegment() {
+        loggerIds.clear();
+        threadIds.clear();
+        formatIds.clear();
+        previousMillis = 0L;
+        segmentStarted = true;
+        String locale = Locale.getDefault(Locale.Category.FORMAT).toLanguageTag();
+        int length = 1 + MAGIC.length + 1 + utf8Length(locale);
+        ensureCapacity(varintSize(length) + length);
+        putVarint(length);
+        bytes[position++] = SEGMENT;
+        System.arraycopy(MAGIC, 0, bytes, position, MAGIC.length);
+        position += MAGIC.length;
+        bytes[position++] = VERSION;
+        putUtf8(locale);
+    }
+
+    /**
+     * Looks a name up in a dictionary, writing a name entry the first time it
+     * is seen in the segment.
+     */
+    private int nameId(Map<String, Integer> ids, int kind, String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        id = ids.size();
+        ids.put(name, id);
+        int length = 2 + utf8Length(name);
+        ensureCapacity(varintSize(length) + length);
+        putVarint(length);
+        bytes[position++] = NAME;
+        bytes[position++] = (byte) kind;
+        putUtf8(name);
+        return id;
+    }
+
+    private void ensureCapacity(int more) {
+        if (position + more > bytes.length) {
+            var larger = new byte[Math.max(position + more, bytes.length * 2)];
+            System.arraycopy(bytes, 0, larger, 0, position);
+            bytes = larger;
+        }
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+    }
+
+    /**
+     * Writes the text as UTF-8, replacing unpaired surrogates with {@code ?}
+     * like {@link String#getBytes(java.nio.charset.Charset)} does.
+     */
+    private void putUtf8(CharSequence text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[position++] = '?';
+                }
+            } else {
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(CharSequence text) {
+        int bytes = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else {
+                    bytes++;
+                }
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,459 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.appenders;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.Message;
+import simpleloglib.events.EventFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Reads the events written by a binary appender, so they can be formatted
+ * with any {@link Layout}. Decoded events carry the message, a logger that
+ * only knows its name and, if there was one, a throwable that only knows its
+ * {@code toString()}. Messages written with deferred formatting keep their
+ * format and parameters, and are formatted with the locale of the writer when
+ * a layout first asks for them.
+ *
+ * <p>It is also a command line decoder:
+ * <pre>
+ * java -cp simpleloglib.jar simpleloglib.appenders.BinaryLogReader app.slog ["layout"]
+ * </pre>
+ *
+ * @author lunalobos
+ */
+public class BinaryLogReader implements Closeable {
+    private static final String DEFAULT_LAYOUT = "[%level] %date - %logger - %thread : %msg %throwable";
+    private static final Level[] LEVELS = Level.values();
+    private static final Throwable NO_THROWABLE = new DecodedThrowable("");
+
+    private final InputStream input;
+    private final List<Logger> loggers = new ArrayList<>();
+    private final List<String> threads = new ArrayList<>();
+    private final List<String> formats = new ArrayList<>();
+    private Locale locale;
+    private boolean segmentStarted;
+    private long previousMillis;
+    private byte[] entry = new byte[512];
+    private int length;
+    private int position;
+
+    public BinaryLogReader(Path path) throws IOException {
+        this(Files.newInputStream(path));
+    }
+
+    public BinaryLogReader(InputStream input) {
+        this.input = new BufferedInputStream(input, 64 * 1024);
+    }
+
+    /**
+     * Reads the next event.
+     * @return the event, or null at the end of the file
+     * @throws IOException if the file can not be read or is not a binary log
+     */
+    public Event read() throws IOException {
+        while (readEntry()) {
+            int type = entry[position++];
+            if (type == BinaryEventEncoder.SEGMENT) {
+                readSegment();
+            } else if (!segmentStarted) {
+                throw new IOException("not a binary log, it does not start with a segment");
+            } else if (type == BinaryEventEncoder.NAME) {
+                readName();
+            } else if (type == BinaryEventEncoder.EVENT || type == BinaryEventEncoder.PARAMETERIZED_EVENT) {
+                return readEvent(type == BinaryEventEncoder.PARAMETERIZED_EVENT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads the next entry into the entry buffer.
+     * @return false at the end of the file
+     */
+    private boolean readEntry() throws IOException {
+        int first = input.read();
+        if (first < 0) {
+            return false;
+        }
+        long size = first & 0x7F;
+        for (int shift = 7, b = first; (b & 0x80) != 0; shift += 7) {
+            b = input.read();
+            if (b < 0 || shift > 28) {
+                throw new EOFException("truncated or corrupt entry length");
+            }
+            size |= (long) (b & 0x7F) << shift;
+        }
+        if (size < 1 || size > Integer.MAX_VALUE - 8) {
+            throw new IOException("corrupt entry length " + size);
+        }
+        length = (int) size;
+        if (entry.length < length) {
+            entry = new byte[Math.max(length, entry.length * 2)];
+        }
+        if (input.readNBytes(entry, 0, length) < length) {
+            throw new EOFException("truncated entry at the end of the file");
+        }
+        position = 0;
+        return true;
+    }
+
+    private void readSegment() throws IOException {
+        var magic = BinaryEventEncoder.MAGIC;
+        if (length < magic.length + 2 || !Arrays.equals(entry, 1, 1 + magic.length, magic, 0, magic.length)) {
+            throw new IOException("not a binary log, bad segment magic");
+        }
+        int version = entry[1 + magic.length];
+        if (version != BinaryEventEncoder.VERSION) {
+            throw new IOException("unsupported binary log version " + version);
+        }
+        int tag = 2 + magic.length;
+        locale = length > tag
+                ? Locale.forLanguageTag(new String(entry, tag, length - tag, StandardCharsets.UTF_8))
+                : Locale.getDefault(Locale.Category.FORMAT);
+        loggers.clear();
+        threads.clear();
+        formats.clear();
+        previousMillis = 0L;
+        segmentStarted = true;
+    }
+
+    private void readName() throws IOException {
+        int kind = entry[position++];
+        String name = new String(entry, position, length - position, StandardCharsets.UTF_8);
+        if (kind == BinaryEventEncoder.LOGGER_NAME) {
+            loggers.add(new DecodedLogger(name));
+        } else if (kind == BinaryEventEncoder.THREAD_NAME) {
+            threads.add(name);
+        } else if (kind == BinaryEventEncoder.FORMAT_NAME) {
+            formats.add(name);
+        }
+    }
+
+    private Event readEvent(boolean parameterized) throws IOException {
+        int levelByte = entry[position++] & 0xFF;
+        int ordinal = levelByte & ~BinaryEventEncoder.THROWABLE_FLAG;
+        if (ordinal >= LEVELS.length) {
+            throw new IOException("corrupt event, unknown level " + ordinal);
+        }
+        long millis = previousMillis + readZigzag();
+        previousMillis = millis;
+        long nanos = readVarint();
+        int loggerId = (int) readVarint();
+        int threadId = (int) readVarint();
+        if (loggerId >= loggers.size() || threadId >= threads.size()) {
+            throw new IOException("corrupt event, undefined logger or thread id");
+        }
+        Throwable throwable = NO_THROWABLE;
+        if ((levelByte & BinaryEventEncoder.THROWABLE_FLAG) != 0) {
+            int throwableLength = (int) readVarint();
+            if (throwableLength < 0 || throwableLength > length - position) {
+                throw new IOException("corrupt event, bad throwable length");
+            }
+            throwable = new DecodedThrowable(new String(entry, position, throwableLength, StandardCharsets.UTF_8));
+            position += throwableLength;
+        }
+        Message message = parameterized ? readParameterizedMessage()
+                : MsgFactory.getDefaultInstance(new String(entry, position, length - position, StandardCharsets.UTF_8));
+        return EventFactory.getDefaultInstance(throwable, threads.get(threadId), LEVELS[ordinal], message,
+                millis * 1_000_000L + nanos, loggers.get(loggerId));
+    }
+
+    private Message readParameterizedMessage() throws IOException {
+        int formatId = (int) readVarint();
+        long count = readVarint();
+        if (formatId < 0 || formatId >= formats.size() || count > length - position) {
+            throw new IOException("corrupt event, undefined format or bad parameter count");
+        }
+        var parameters = new Object[(int) count];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = readParameter();
+        }
+        return new DecodedMessage(formats.get(formatId), parameters, locale);
+    }
+
+    private Object readParameter() throws IOException {
+        if (position >= length) {
+            throw new IOException("corrupt event, truncated parameter");
+        }
+        int type = entry[position++];
+        return switch (type) {
+            case BinaryEventEncoder.NULL_PARAMETER -> null;
+            case BinaryEventEncoder.STRING_PARAMETER -> {
+                int stringLength = (int) readVarint();
+                if (stringLength < 0 || stringLength > length - position) {
+                    throw new IOException("corrupt event, bad string parameter length");
+                }
+                var string = new String(entry, position, stringLength, StandardCharsets.UTF_8);
+                position += stringLength;
+                yield string;
+            }
+            case BinaryEventEncoder.INTEGER_PARAMETER -> (int) readZigzag();
+            case BinaryEventEncoder.LONG_PARAMETER -> readZigzag();
+            case BinaryEventEncoder.SHORT_PARAMETER -> (short) readZigzag();
+            case BinaryEventEncoder.BYTE_PARAMETER -> (byte) readZigzag();
+            case BinaryEventEncoder.DOUBLE_PARAMETER -> Double.longBitsToDouble(readFixed(Long.BYTES));
+            case BinaryEventEncoder.FLOAT_PARAMETER -> Float.intBitsToFloat((int) readFixed(Integer.BYTES));
+            case BinaryEventEncoder.FALSE_PARAMETER -> Boolean.FALSE;
+            case BinaryEventEncoder.TRUE_PARAMETER -> Boolean.TRUE;
+            case BinaryEventEncoder.CHARACTER_PARAMETER -> (char) readVarint();
+            default -> throw new IOException("corrupt event, unknown parameter type " + type);
+        };
+    }
+
+    private long readFixed(int size) throws IOException {
+        if (size > length - position) {
+            throw new IOException("corrupt event, truncated parameter");
+        }
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            value = (value << 8) | (entry[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private long readZigzag() throws IOException {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= length) {
+                throw new IOException("corrupt event, truncated varint");
+            }
+            byte b = entry[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("corrupt event, varint too long");
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Decodes a binary log to the standard output.
+     * @param args the file and optionally the layout string
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("usage: BinaryLogReader <file> [layout]");
+            return;
+        }
+        Layout layout = LayoutFactory.getDefaultInstance(args.length > 1 ? args[1] : DEFAULT_LAYOUT);
+        var text = new StringBuilder(512);
+        Writer output = new BufferedWriter(new OutputStreamWriter(System.out, System.out.charset()), 64 * 1024);
+        try (var reader = new BinaryLogReader(Paths.get(args[0]))) {
+            Event event;
+            while ((event = reader.read()) != null) {
+                text.setLength(0);
+                layout.format(event, text);
+                text.append(System.lineSeparator());
+                output.append(text);
+            }
+            output.flush();
+        } catch (EOFException e) {
+            output.flush();
+            System.out.println("WARNING: " + e.getMessage());
+        } catch (IOException e) {
+            output.flush();
+            System.out.println("ERROR: " + e.getMessage());
+        }
+    }
+}
+
+/**
+ * A message written with deferred formatting. It is formatted with the locale
+ * of the writer, so numbers and dates read the same as in a text log written
+ * on the same machine.
+ */
+class DecodedMessage implements Message {
+    private final String format;
+    private final Object[] parameters;
+    private final Locale locale;
+    private String formatted;
+
+    public DecodedMessage(String format, Object[] parameters, Locale locale) {
+        this.format = format;
+        this.parameters = parameters;
+        this.locale = locale;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        var formatted = this.formatted;
+        if (formatted == null) {
+            formatted = String.format(locale, format, parameters);
+            this.formatted = formatted;
+        }
+        return formatted;
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        buffer.append(getFormattedMessage());
+    }
+
+    @Override
+    public String getFormat() {
+        return format;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return parameters.length;
+    }
+
+    @Override
+    public Object getParameter(int index) {
+        return parameters[Objects.checkIndex(index, parameters.length)];
+    }
+
+    @Override
+    public String toString() {
+        return getFormattedMessage();
+    }
+}
+
+/**
+ * Stands for a logged throwable, of which only the text rendered by layouts
+ * is stored.
+ */
+class DecodedThrowable extends Throwable {
+    private static final long serialVersionUID = 2939251932540170713L;
+
+    private final String text;
+
+    public DecodedThrowable(String text) {
+        super(text, null, false, false);
+        this.text = text;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
+
+/**
+ * The logger of a decoded event. It only knows its name and logs nothing.
+ */
+class DecodedLogger implements Logger {
+    private final String name;
+
+    public DecodedLogger(String name) {
+        this.name = name;
+    }
+
+    @Override public void trace(String msg) {}
+    @Override public void trace(Message msg) {}
+    @Override public void trace(Throwable t) {}
+    @Override public void trace(String msg, Throwable t) {}
+    @Override public void trace(String format, Object arg) {}
+    @Override public void trace(String format, Object arg1, Object arg2) {}
+    @Override public void trace(String format, Object arg1, Object arg2, Object arg3) {}
+    @Override public void trace(String format, Object... args) {}
+    @Override public void trace(Supplier<Message> msgSupplier) {}
+    @Override public void debug(String msg) {}
+    @Override public void debug(Message msg) {}
+    @Override public void debug(Throwable t) {}
+    @Override public void debug(String msg, Throwable t) {}
+    @Override public void debug(String format, Object arg) {}
+    @Override public void debug(String format, Object arg1, Object arg2) {}
+    @Override public void debug(String format, Object arg1, Object arg2, Object arg3) {}
+    @Override public void debug(String format, Object... args) {}
+    @Override public void debug(Supplier<Message> msgSupplier) {}
+    @Override public void info(String msg) {}
+    @Override public void info(Message msg) {}
+    @Override public void info(Throwable t) {}
+    @Override public void info(String msg, Throwable t) {}
+    @Override public void info(String format, Object arg) {}
+    @Override public void info(String format, Object arg1, Object arg2) {}
+    @Override public void info(String format, Object arg1, Object arg2, Object arg3) {}
+    @Override public void info(String format, Object... args) {}
+    @Override public void info(Supplier<Message> msgSupplier) {}
+    @Override public void warn(String msg) {}
+    @Override public void warn(Message msg) {}
+    @Override public void warn(Throwable t) {}
+    @Override public void warn(String msg, Throwable t) {}
+    @Override public void warn(String format, Object arg) {}
+    @Override public void warn(String format, Object arg1, Object arg2) {}
+    @Override public void warn(String format, Object arg1, Object arg2, Object arg3) {}
+    @Override public void warn(String format, Object... args) {}
+    @Override public void warn(Supplier<Message> msgSupplier) {}
+    @Override public void error(String msg) {}
+    @Override public void error(Message msg) {}
+    @Override public void error(Throwable t) {}
+    @Override public void error(String msg, Throwable t) {}
+    @Override public void error(String format, Object arg) {}
+    @Override public void error(String format, Object arg1, Object arg2) {}
+    @Override public void error(String format, Object arg1, Object arg2, Object arg3) {}
+    @Override public void error(String format, Object... args) {}
+    @Override public void error(Supplier<Message> msgSupplier) {}
+    @Override public void fatal(String msg) {}
+    @Override public void fatal(Message msg) {}
+    @Override public void fatal(Throwable t) {}
+    @Override public void fatal(String msg, Throwable t) {}
+    @Override public void fatal(String format, Object arg) {}
+    @Override public void fatal(String format, Object arg1, Object arg2) {}
+    @Override public void fatal(String format, Object arg1, Object arg2, Object arg3) {}
+    @Override public void fatal(String format, Object... args) {}
+    @Override public void fatal(Supplier<Message> msgSupplier) {}
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
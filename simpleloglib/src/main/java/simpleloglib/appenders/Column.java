@@ -30,7 +30,7 @@ import simpleloglib.Event;
  */
 public class Column {
 	private String name;
-	private BiConsumer<PreparedStatement, Event> setter;
+	private ColumnSetter setter;
 	private int index;
 
 	public Column(String name, int index) {
@@ -66,6 +66,20 @@ public class Column {
 		return setter;
 	}
 
+	/**
+	 * Binds the column of one row of a multi row statement.
+	 * @param statement
+	 * @param event
+	 * @param offset the number of parameters before the row
+	 */
+	public void bind(PreparedStatement statement, Event event, int offset) {
+		try {
+			setter.set(statement, event, index + offset);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
 	/**
 	 * Gets the index of the column.
 	 * @return the index
@@ -80,94 +94,88 @@ public class Column {
 	}
 }
 
-class EventIdSetter implements BiConsumer<PreparedStatement, Event> {
+/**
+ * Binds one event property to a statement parameter. The index given to the
+ * constructor is used when the setter is called as a {@link BiConsumer}; multi
+ * row statements call {@link #set(PreparedStatement, Event, int)} with the
+ * index shifted by the row offset.
+ */
+abstract class ColumnSetter implements BiConsumer<PreparedStatement, Event> {
 	private int index;
 
-	public EventIdSetter(int index) {
+	public ColumnSetter(int index) {
 		this.index = index;
 	}
 
+	public abstract void set(PreparedStatement t, Event u, int index) throws SQLException;
+
 	@Override
 	public void accept(PreparedStatement t, Event u) {
 		try {
-			t.setString(index, UuidCreator.getTimeOrdered().toString());
+			set(t, u, index);
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
+	}
+}
+
+class EventIdSetter extends ColumnSetter {
 
+	public EventIdSetter(int index) {
+		super(index);
 	}
 
+	@Override
+	public void set(PreparedStatement t, Event u, int index) throws SQLException {
+		t.setString(index, UuidCreator.getTimeOrdered().toString());
+	}
 }
 
-class LoggerSetter implements BiConsumer<PreparedStatement, Event> {
-	private int index;
+class LoggerSetter extends ColumnSetter {
 
 	public LoggerSetter(int index) {
-		this.index = index;
+		super(index);
 	}
 
 	@Override
-	public void accept(PreparedStatement t, Event u) {
-		try {
-			t.setString(this.index, u.logger().toString());
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-
+	public void set(PreparedStatement t, Event u, int index) throws SQLException {
+		t.setString(index, u.logger().toString());
 	}
-
 }
 
-class LevelSetter implements BiConsumer<PreparedStatement, Event> {
-	private int index;
+class LevelSetter extends ColumnSetter {
 
 	public LevelSetter(int index) {
-		this.index = index;
+		super(index);
 	}
 
 	@Override
-	public void accept(PreparedStatement t, Event u) {
-		try {
-			t.setString(this.index, u.level().name());
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-
+	public void set(PreparedStatement t, Event u, int index) throws SQLException {
+		t.setString(index, u.level().name());
 	}
-
 }
 
-class ThreadSetter implements BiConsumer<PreparedStatement, Event> {
-	private int index;
+class ThreadSetter extends ColumnSetter {
 
 	public ThreadSetter(int index) {
-		this.index = index;
+		super(index);
 	}
 
 	@Override
-	public void accept(PreparedStatement t, Event u) {
-		try {
-			t.setString(this.index, u.threadName());
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
+	public void set(PreparedStatement t, Event u, int index) throws SQLException {
+		t.setString(index, u.threadName());
 	}
 }
 
-class MessageSetter implements BiConsumer<PreparedStatement, Event> {
-	private int index;
+class MessageSetter extends ColumnSetter {
 
 	public MessageSetter(int index) {
-		this.index = index;
+		super(index);
 	}
 
 	@Override
-	public void accept(PreparedStatement t, Event u) {
-		try {
-			t.setString(this.index, sanitizeMessage(u.message().getFormattedMessage()));
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
+	public void set(PreparedStatement t, Event u, int index) throws SQLException {
+		t.setString(index, sanitizeMessage(u.message().getFormattedMessage()));
 	}
 
 	private String sanitizeMessage(String message) {
@@ -182,39 +190,26 @@ class MessageSetter implements BiConsumer<PreparedStatement, Event> {
 	}
 }
 
-class ThrowableSetter implements BiConsumer<PreparedStatement, Event> {
-	private int index;
+class ThrowableSetter extends ColumnSetter {
 
 	public ThrowableSetter(int index) {
-		this.index = index;
+		super(index);
 	}
 
 	@Override
-	public void accept(PreparedStatement t, Event u) {
-		try {
-			t.setString(this.index, u.throwable().toString());
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-
+	public void set(PreparedStatement t, Event u, int index) throws SQLException {
+		t.setString(index, u.throwable().toString());
 	}
-
 }
 
-class EventDateSetter implements BiConsumer<PreparedStatement, Event> {
-	private int index;
+class EventDateSetter extends ColumnSetter {
 
 	public EventDateSetter(int index) {
-		this.index = index;
+		super(index);
 	}
 
 	@Override
-	public void accept(PreparedStatement t, Event u) {
-		try {
-			t.setTimestamp(this.index, new java.sql.Timestamp(u.timestamp().toInstant().toEpochMilli()));
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
+	public void set(PreparedStatement t, Event u, int index) throws SQLException {
+		t.setTimestamp(index, new java.sql.Timestamp(u.epochMillis()));
 	}
-
 }
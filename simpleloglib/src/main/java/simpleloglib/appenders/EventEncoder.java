@@ -0,0 +1,90 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import simpleloglib.Event;
+import simpleloglib.Layout;
+
+/**
+ * Formats events into a reused {@link StringBuilder} and encodes them into a
+ * reused {@link ByteBuffer}, so text appenders do not allocate per event once
+ * the buffers have grown to the size of the largest line. An instance must
+ * only be used by one thread at a time.
+ *
+ * @author lunalobos
+ */
+class EventEncoder implements RecordEncoder {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final StringBuilder text = new StringBuilder(512);
+    private final CharsetEncoder encoder;
+    private char[] chars = new char[512];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private ByteBuffer bytes;
+
+    public EventEncoder(Charset charset, int initialCapacity) {
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate(initialCapacity);
+    }
+
+    /**
+     * Formats the event followed by a line separator.
+     * @param event
+     * @param layout
+     * @return the encoded line, ready to be read; valid until the next call
+     */
+    @Override
+    public ByteBuffer encode(Event event, Layout layout) {
+        text.setLength(0);
+        layout.format(event, text);
+        text.append(LINE_SEPARATOR);
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        text.getChars(0, length, chars, 0);
+        charBuffer.limit(length).position(0);
+        bytes.clear();
+        encoder.reset();
+        CoderResult result;
+        while ((result = encoder.encode(charBuffer, bytes, true)).isOverflow()) {
+            grow();
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            grow();
+        }
+        if (result.isError()) {
+            bytes.clear();
+        }
+        return bytes.flip();
+    }
+
+    private void grow() {
+        var larger = ByteBuffer.allocate(bytes.capacity() * 2);
+        bytes.flip();
+        larger.put(bytes);
+        bytes = larger;
+    }
+}
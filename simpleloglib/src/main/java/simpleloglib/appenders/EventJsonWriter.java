@@ -0,0 +1,237 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import simpleloglib.Event;
+import simpleloglib.Layout;
+
+/**
+ * Streams events as JSON objects from a single long lived
+ * {@link JsonGenerator} into a reused byte buffer. Field names are encoded
+ * once, messages and layouts are formatted into a reused
+ * {@link StringBuilder}, and gzip compression reuses one {@link Deflater}, so
+ * a whole batch costs one copy of the finished body. An instance must only be
+ * used by one thread at a time.
+ *
+ * @author lunalobos
+ */
+class EventJsonWriter {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final SerializableString THROWABLE = new SerializedString("throwable");
+    private static final SerializableString THREAD_NAME = new SerializedString("threadName");
+    private static final SerializableString LEVEL = new SerializedString("level");
+    private static final SerializableString FORMATTED_MESSAGE = new SerializedString("formattedMessage");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString LOGGER_NAME = new SerializedString("loggerName");
+    private static final SerializableString FORMATTED_EVENT = new SerializedString("formattedEvent");
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private final HttpBodyFormat format;
+    private final Buffer out = new Buffer(8192);
+    private final JsonGenerator generator;
+    private final StringBuilder text = new StringBuilder(512);
+    private char[] chars = new char[512];
+    private int events;
+    private Deflater deflater;
+    private CRC32 crc;
+    private Buffer compressed;
+
+    public EventJsonWriter(HttpBodyFormat format) {
+        this.format = format;
+        try {
+            this.generator = FACTORY.createGenerator(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Starts a new body, discarding anything written before. The array of a
+     * {@link HttpBodyFormat#JSON_ARRAY} body is opened by the first event, so
+     * a body nothing was written to leaves the generator clean.
+     * @throws IOException
+     */
+    public void begin() throws IOException {
+        generator.flush();
+        out.reset();
+        events = 0;
+    }
+
+    /**
+     * Writes one event of the current body.
+     * @param event
+     * @param layout
+     * @throws IOException
+     */
+    public void write(Event event, Layout layout) throws IOException {
+        if (events == 0 && format == HttpBodyFormat.JSON_ARRAY) {
+            generator.writeStartArray();
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(THROWABLE);
+        if (event.throwable() != null) {
+            generator.writeString(event.throwable().toString());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(THREAD_NAME);
+        generator.writeString(event.threadName());
+        generator.writeFieldName(LEVEL);
+        generator.writeString(event.level().name());
+        generator.writeFieldName(FORMATTED_MESSAGE);
+        text.setLength(0);
+        event.message().formatTo(text);
+        writeText();
+        generator.writeFieldName(TIMESTAMP);
+        writeTimestamp(event.epochMillis(), event.nanoOfMillisecond());
+        generator.writeFieldName(LOGGER_NAME);
+        generator.writeString(event.logger().name());
+        generator.writeFieldName(FORMATTED_EVENT);
+        text.setLength(0);
+        layout.format(event, text);
+        writeText();
+        generator.writeEndObject();
+        if (format == HttpBodyFormat.NDJSON) {
+            generator.writeRaw('\n');
+        }
+        events++;
+    }
+
+    /**
+     * Number of events written to the current body.
+     * @return the number of events
+     */
+    public int events() {
+        return events;
+    }
+
+    /**
+     * Ends the current body and copies it out.
+     * @param gzip
+     * @return the body, optionally gzipped
+     * @throws IOException
+     */
+    public byte[] finish(boolean gzip) throws IOException {
+        if (format == HttpBodyFormat.JSON_ARRAY) {
+            if (events == 0) {
+                generator.writeStartArray();
+            }
+            generator.writeEndArray();
+        }
+        generator.flush();
+        return gzip ? gzip() : out.toByteArray();
+    }
+
+    private void writeText() throws IOException {
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        text.getChars(0, length, chars, 0);
+        generator.writeString(chars, 0, length);
+    }
+
+    /**
+     * Writes seconds and nanoseconds since the epoch as a decimal number, the
+     * same representation Jackson uses for {@code OffsetDateTime} timestamps.
+     */
+    private void writeTimestamp(long epochMillis, int nanoOfMillisecond) throws IOException {
+        long seconds = Math.floorDiv(epochMillis, 1000);
+        int nanos = Math.floorMod(epochMillis, 1000) * 1_000_000 + nanoOfMillisecond;
+        text.setLength(0);
+        text.append(seconds).append('.');
+        for (int digits = 100_000_000; digits > 1 && nanos < digits; digits /= 10) {
+            text.append('0');
+        }
+        text.append(nanos);
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        text.getChars(0, length, chars, 0);
+        generator.writeRawValue(chars, 0, length);
+    }
+
+    private byte[] gzip() {
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            crc = new CRC32();
+            compressed = new Buffer(8192);
+        }
+        deflater.reset();
+        crc.reset();
+        compressed.reset();
+        compressed.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        crc.update(out.array(), 0, out.size());
+        deflater.setInput(out.array(), 0, out.size());
+        deflater.finish();
+        while (!deflater.finished()) {
+            compressed.deflate(deflater);
+        }
+        writeInt((int) crc.getValue());
+        writeInt(out.size());
+        return compressed.toByteArray();
+    }
+
+    private void writeInt(int value) {
+        compressed.write(value & 0xff);
+        compressed.write((value >> 8) & 0xff);
+        compressed.write((value >> 16) & 0xff);
+        compressed.write((value >> 24) & 0xff);
+    }
+
+    public void close() {
+        try {
+            generator.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Byte array stream exposing its array, so it can be compressed in place.
+     */
+    private static class Buffer extends ByteArrayOutputStream {
+        Buffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+        void deflate(Deflater deflater) {
+            if (count == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            count += deflater.deflate(buf, count, buf.length - count);
+        }
+    }
+}
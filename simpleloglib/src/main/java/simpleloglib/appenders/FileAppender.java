@@ -12,31 +12,80 @@ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
 See the License for the specific language governing permissions and
 limitations under the License.
 */
-
 package simpleloglib.appenders;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import simpleloglib.Appender;
+import simpleloglib.AppenderStats;
 import simpleloglib.Event;
 import simpleloglib.Filter;
 import simpleloglib.Layout;
 
+/**
+ * Keeps one {@link FileChannel} open for its whole lifetime and writes
+ * through a reused direct buffer, flushed according to its
+ * {@link FlushPolicy}.
+ * 
+ * @author lunalobos
+ */
 class FileAppender implements Appender {
 
     private String name;
     private Path path;
     private Filter filter;
+    private RecordEncoder encoder;
+    private FileAppenderConfig config;
+    private ByteBuffer buffer;
+    private FileChannel channel;
+    private long fileSize;
+    private ScheduledFuture<?> scheduledFlush;
+    private final ReentrantLock lock = new ReentrantLock();
 
     public FileAppender(String name, String path) {
+        this(name, FileAppenderConfig.builder().filePath(path).build());
+    }
+
+    public FileAppender(String name, FileAppenderConfig config) {
+        this(name, config, new EventEncoder(StandardCharsets.UTF_8, 1024));
+    }
+
+    FileAppender(String name, FileAppenderConfig config, RecordEncoder encoder) {
         this.name = name;
-        this.path = Paths.get(path);
+        this.path = Paths.get(config.getFilePath());
+        this.config = config;
+        this.encoder = encoder;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(1024, config.getWriteBufferSize()));
+        if (config.getFlushPolicy() == FlushPolicy.INTERVAL) {
+            long interval = Math.max(1, config.getFlushIntervalMillis());
+            scheduledFlush = Flusher.INSTANCE.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Holds the flusher thread shared by every interval flushed appender. It is
+     * created on first use by class initialization, without taking a monitor
+     * that would pin a virtual thread.
+     */
+    private static class Flusher {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "simpleloglib-file-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
@@ -49,27 +98,151 @@ class FileAppender implements Appender {
         if (!filter.accept(event)) {
             return;
         }
-        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND,
-                StandardOpenOption.CREATE)) {
-            writer.write(layout.format(event));
-            writer.newLine();
-        } catch (IOException e) {
-            System.out.println("ERROR: " + e.getMessage());
-        }
+        append(List.of(event), layout);
     }
 
     @Override
     public void append(Collection<Event> events, Layout layout) {
-        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardOpenOption.APPEND,
-                StandardOpenOption.CREATE)) {
+        lock.lock();
+        try {
             for (Event event : events) {
                 if (filter.accept(event)) {
-                    writer.write(layout.format(event));
-                    writer.newLine();
+                    write(encoder.encode(event, layout));
                 }
             }
+            if (config.getFlushPolicy() == FlushPolicy.BATCH) {
+                flushBuffer();
+            }
+        } catch (IOException e) {
+            System.out.println("ERROR: " + e.getMessage());
+            AppenderStats.of(name).error(e);
+            reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(ByteBuffer line) throws IOException {
+        var channel = channel();
+        if (shouldRollOver(fileSize, line.remaining())) {
+            flushBuffer();
+            closeChannel();
+            rollOver(path);
+            channel = channel();
+        }
+        fileSize += line.remaining();
+        if (line.remaining() > buffer.remaining()) {
+            flushBuffer();
+        }
+        if (line.remaining() > buffer.capacity()) {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+        } else {
+            buffer.put(line);
+        }
+    }
+
+    /**
+     * Hook for appenders that move the file away from time to time. It is
+     * called before every line is written.
+     * @param fileSize the bytes already in the file, including buffered ones
+     * @param lineSize the bytes about to be written
+     * @return true to roll the file over before writing the line
+     */
+    protected boolean shouldRollOver(long fileSize, int lineSize) {
+        return false;
+    }
+
+    /**
+     * Moves the closed file away. The next write creates a new one.
+     * @param activeFile
+     * @throws IOException
+     */
+    protected void rollOver(Path activeFile) throws IOException {
+    }
+
+    protected FileAppenderConfig config() {
+        return config;
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            fileSize = channel.size();
+        }
+        return channel;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        var channel = channel();
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        if (config.isForce()) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Drops the buffered bytes and the channel after an I/O error, so the next
+     * write reopens the file.
+     */
+    private void reset() {
+        buffer.clear();
+        encoder.reset();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.out.println("ERROR: " + e.getMessage());
+                AppenderStats.of(name).error(e);
+            }
+            channel = null;
+        }
+    }
+
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            System.out.println("ERROR: " + e.getMessage());
+            AppenderStats.of(name).error(e);
+            reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        lock.lock();
+        try {
+            flushBuffer();
         } catch (IOException e) {
             System.out.println("ERROR: " + e.getMessage());
+            AppenderStats.of(name).error(e);
+        } finally {
+            reset();
+            lock.unlock();
         }
     }
 
@@ -78,9 +251,15 @@ class FileAppender implements Appender {
         this.filter = filter;
     }
 
+    @Override
+    public Filter filter() {
+        return filter;
+    }
+
     @Override
     public String toString() {
-        return "FileAppender(name = %s, path = %s, filter = %s)".formatted(name, path, filter);
+        return "FileAppender(name = %s, path = %s, filter = %s, flushPolicy = %s)".formatted(name, path, filter,
+                config.getFlushPolicy());
     }
 
 }
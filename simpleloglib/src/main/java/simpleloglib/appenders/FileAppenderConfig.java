@@ -0,0 +1,67 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 
+ * <p>This class is used to configure the file appender.
+ * @author lunalobos
+ */
+@Data @Builder
+public class FileAppenderConfig {
+    private String filePath;
+    @Builder.Default
+    private FlushPolicy flushPolicy = FlushPolicy.BATCH;
+    @Builder.Default
+    private long flushIntervalMillis = 1000;
+    @Builder.Default
+    private int writeBufferSize = 256 * 1024;
+    /**
+     * Calls {@link java.nio.channels.FileChannel#force(boolean)} after every
+     * flush, so flushed events survive an operating system crash.
+     */
+    private boolean force;
+    /**
+     * Size in bytes of each region mapped at a time by the memory mapped
+     * appender.
+     */
+    @Builder.Default
+    private long mapRegionSize = 32 * 1024 * 1024;
+    /**
+     * Size in bytes that makes the rolling appender start a new file, 0 to
+     * disable size based rollover.
+     */
+    private long maxFileSize;
+    @Builder.Default
+    private RolloverInterval rolloverInterval = RolloverInterval.NONE;
+    /**
+     * Number of rolled files kept by the rolling appender, 0 to keep them all.
+     */
+    @Builder.Default
+    private int maxHistory = 7;
+    /**
+     * Whether the rolling appender gzips rolled files in the background.
+     */
+    @Builder.Default
+    private boolean compress = true;
+    /**
+     * Whether the binary appender stores messages as their format and raw
+     * parameters, leaving the formatting to the reader.
+     */
+    private boolean deferredFormatting;
+}
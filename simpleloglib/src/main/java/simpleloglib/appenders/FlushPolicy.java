@@ -0,0 +1,35 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+/**
+ * When a buffered file appender writes its buffer to the file.
+ * 
+ * @author lunalobos
+ */
+public enum FlushPolicy {
+    /**
+     * After every batch of events.
+     */
+    BATCH,
+    /**
+     * Every {@code flushIntervalMillis} milliseconds.
+     */
+    INTERVAL,
+    /**
+     * Only when the buffer is full and when the appender is closed.
+     */
+    FULL
+}
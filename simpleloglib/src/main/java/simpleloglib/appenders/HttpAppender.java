@@ -15,29 +15,37 @@ limitations under the License.
 package simpleloglib.appenders;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.time.OffsetDateTime;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Semaphore;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-
-import lombok.Builder;
-import lombok.Data;
 import simpleloglib.Appender;
+import simpleloglib.AppenderStats;
 import simpleloglib.Event;
 import simpleloglib.Filter;
 import simpleloglib.Layout;
 
+/**
+ * Sends each batch of events in one POST request through a shared
+ * {@link HttpClient}, which keeps HTTP/1.1 and HTTP/2 connections alive
+ * between requests. Requests are sent asynchronously and at most
+ * {@code maxInFlightRequests} of them wait for a response at a time.
+ *
+ * @author lunalobos
+ */
 class HttpAppender implements Appender {
     private String name;
-    private String url;
-    private String authorization;
+    private HttpAppenderConfig config;
+    private URI uri;
+    private Duration timeout;
+    private Semaphore inFlight;
     private Filter filter;
+    private EventJsonWriter writer;
 
     @Override
     public String name() {
@@ -45,102 +53,136 @@ class HttpAppender implements Appender {
     }
 
     public HttpAppender(String name, String url) {
-        this.name = name;
-        this.url = url;
+        this(name, HttpAppenderConfig.builder().url(url).build());
     }
 
     public HttpAppender(String name, String url, String authorization) {
+        this(name, HttpAppenderConfig.builder().url(url).authorization(authorization).build());
+    }
+
+    public HttpAppender(String name, HttpAppenderConfig config) {
         this.name = name;
-        this.url = url;
-        this.authorization = authorization;
+        this.config = config;
+        this.uri = URI.create(config.getUrl());
+        this.timeout = Duration.ofMillis(config.getTimeoutMillis());
+        this.inFlight = new Semaphore(Math.max(1, config.getMaxInFlightRequests()));
+        this.writer = new EventJsonWriter(config.getFormat());
     }
 
     @Override
     public void append(Event event, Layout layout) {
-        if (filter.accept(event)) {
-            sendEventBean(EventBean.of(event, layout));
-        }
+        append(List.of(event), layout);
     }
 
     @Override
     public void append(Collection<Event> events, Layout layout) {
-        events.stream().filter(this.filter::accept).map(event -> EventBean.of(event, layout))
-                .forEach(this::sendEventBean);
+        byte[] content;
+        int count;
+        try {
+            writer.begin();
+            for (var event : events) {
+                if (filter.accept(event)) {
+                    writer.write(event, layout);
+                }
+            }
+            count = writer.events();
+            content = count > 0 ? writer.finish(config.isGzip()) : null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            AppenderStats.of(name).error(e);
+            writer.close();
+            writer = new EventJsonWriter(config.getFormat());
+            return;
+        }
+        if (content != null) {
+            send(content, count);
+        }
     }
 
-    private void sendEventBean(EventBean eventBean) {
+    private void send(byte[] content, int count) {
+        HttpRequest request;
         try {
-            var url = new URI(this.url).toURL();
-            var connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setDoOutput(true);
-            connection.setRequestProperty("Content-Type", "application/json; utf-8");
-            connection.setRequestProperty("Accept", "application/json");
-            if (authorization != null) {
-                connection.setRequestProperty("Authorization", authorization);
-            }
-            var objectMappper = JsonMapper.builder()
-                    .addModule(new JavaTimeModule())
-                    .build();
-            var json = objectMappper.writeValueAsString(eventBean);
-            
-            var os = connection.getOutputStream();
-            var input = json.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-            connection.disconnect();
-        } catch (IOException | URISyntaxException e) {
+            request = request(content);
+        } catch (IllegalArgumentException e) {
             e.printStackTrace();
+            AppenderStats.of(name).error(e);
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        Clients.SHARED.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+            inFlight.release();
+            if (e != null) {
+                System.out.println("ERROR: %s could not send %d events: %s".formatted(name, count, e));
+                AppenderStats.of(name).error(e);
+            } else if (response.statusCode() >= 300) {
+                System.out.println("ERROR: %s got status %d from %s".formatted(name, response.statusCode(), uri));
+                AppenderStats.of(name).error("status %d from %s".formatted(response.statusCode(), uri));
+            }
+        });
+    }
+
+    private HttpRequest request(byte[] content) {
+        var builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", config.getFormat() == HttpBodyFormat.NDJSON ? "application/x-ndjson"
+                        : "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(content));
+        if (config.isGzip()) {
+            builder.header("Content-Encoding", "gzip");
         }
+        if (config.getAuthorization() != null) {
+            builder.header("Authorization", config.getAuthorization());
+        }
+        return builder.build();
     }
 
+    /**
+     * Waits until every request sent so far has been answered.
+     */
     @Override
-    public void setFilter(Filter filter) {
-        this.filter = filter;
+    public void flush() {
+        int permits = Math.max(1, config.getMaxInFlightRequests());
+        try {
+            inFlight.acquire(permits);
+            inFlight.release(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Override
-    public String toString() {
-        return "HttpAppender(name = %s, url = %s)".formatted(name, url);
+    public void close() {
+        flush();
+        writer.close();
     }
 
-}
+    @Override
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
 
-@Data
-class EventBean {
-
-    public static EventBean of(Event event, Layout layout) {
-        return EventBean.builder()
-                .throwable(event.throwable().toString())
-                .threadName(event.threadName())
-                .level(event.level().name())
-                .formattedMessage(event.message().getFormattedMessage())
-                .timestamp(event.timestamp())
-                .loggerName(event.logger().name())
-                .formattedEvent(layout.format(event))
-                .build();
+    @Override
+    public Filter filter() {
+        return filter;
     }
 
-    private String throwable;
-    private String threadName;
-    private String level;
-    private String formattedMessage;
-    private OffsetDateTime timestamp;
-    private String loggerName;
-    private String formattedEvent;
-
-    public EventBean() {
-    };
-
-    @Builder
-    public EventBean(String throwable, String threadName, String level, String formattedMessage,
-            OffsetDateTime timestamp, String loggerName, String formattedEvent) {
-        this.throwable = throwable;
-        this.threadName = threadName;
-        this.level = level;
-        this.formattedMessage = formattedMessage;
-        this.timestamp = timestamp;
-        this.loggerName = loggerName;
-        this.formattedEvent = formattedEvent;
+    @Override
+    public String toString() {
+        return "HttpAppender(name = %s, url = %s)".formatted(name, uri);
     }
 
-}
\ No newline at end of file
+}
+
+/**
+ * Holds the client shared by every HTTP appender, created on first use.
+ */
+class Clients {
+    static final HttpClient SHARED = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+}
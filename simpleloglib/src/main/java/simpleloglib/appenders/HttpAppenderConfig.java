@@ -0,0 +1,44 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 
+ * <p>This class is used to configure the HTTP appender.
+ * @author lunalobos
+ */
+@Data @Builder
+public class HttpAppenderConfig {
+    private String url;
+    private String authorization;
+    @Builder.Default
+    private HttpBodyFormat format = HttpBodyFormat.JSON_ARRAY;
+    /**
+     * Compresses request bodies with gzip and sends
+     * {@code Content-Encoding: gzip}.
+     */
+    private boolean gzip;
+    /**
+     * Maximum number of requests sent and not yet answered. Appending blocks
+     * while the limit is reached.
+     */
+    @Builder.Default
+    private int maxInFlightRequests = 4;
+    @Builder.Default
+    private long timeoutMillis = 10000;
+}
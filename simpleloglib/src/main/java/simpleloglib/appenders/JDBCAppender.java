@@ -18,9 +18,12 @@ package simpleloglib.appenders;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import simpleloglib.Appender;
+import simpleloglib.AppenderStats;
 import simpleloglib.Event;
 import simpleloglib.Filter;
 import simpleloglib.Layout;
@@ -35,6 +38,8 @@ class JDBCAppender implements Appender {
     private JDBCAppenderConfig config;
     private Filter filter;
     private String sql;
+    private String[] bulkSql;
+    private List<Event> accepted = new ArrayList<>();
 
     public JDBCAppender(String name, JDBCAppenderConfig config) {
         this.name = name;
@@ -43,6 +48,7 @@ class JDBCAppender implements Appender {
                 : config.getConnectionFactory();
         this.config = config;
         sql = config.slq();
+        bulkSql = new String[config.rowsPerStatement() + 1];
     }
 
     @Override
@@ -50,36 +56,130 @@ class JDBCAppender implements Appender {
         return name;
     }
 
-    private void persistInDB(Event event, Connection connection) {
+    /**
+     * Inserts the accepted events with one prepared statement and JDBC batches
+     * of {@code batchSize} rows, all inside a single transaction.
+     */
+    private void persistInDB(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
         try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            config.getColumns().stream().forEach(c -> {
-                c.setter().accept(preparedStatement, event);
-            });
-            preparedStatement.executeUpdate();
+            int batchSize = Math.max(1, config.getBatchSize());
+            int rows = 0;
+            for (Event event : accepted) {
+                for (Column column : config.getColumns()) {
+                    column.setter().accept(preparedStatement, event);
+                }
+                preparedStatement.addBatch();
+                if (++rows % batchSize == 0) {
+                    preparedStatement.executeBatch();
+                }
+            }
+            if (rows % batchSize != 0) {
+                preparedStatement.executeBatch();
+            }
+            connection.commit();
         } catch (SQLException e) {
-            e.printStackTrace();
+            connection.rollback();
+            throw e;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
         }
     }
 
-    @Override
-    public void append(Event event, Layout layout) {
-        try (Connection connection = connectionFactory.getConnection()) {
-            if (filter.accept(event))
-                persistInDB(event, connection);
+    /**
+     * Inserts the accepted events with multi row statements of up to
+     * {@link JDBCAppenderConfig#rowsPerStatement()} rows, all inside a single
+     * transaction. Statements are prepared once per chunk size and batch.
+     */
+    private void bulkPersistInDB(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        int rowsPerStatement = bulkSql.length - 1;
+        int full = accepted.size() / rowsPerStatement;
+        int remainder = accepted.size() % rowsPerStatement;
+        try {
+            if (full > 0) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(bulkSql(rowsPerStatement))) {
+                    for (int chunk = 0; chunk < full; chunk++) {
+                        bindRows(preparedStatement, chunk * rowsPerStatement, rowsPerStatement);
+                        preparedStatement.executeUpdate();
+                    }
+                }
+            }
+            if (remainder > 0) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(bulkSql(remainder))) {
+                    bindRows(preparedStatement, full * rowsPerStatement, remainder);
+                    preparedStatement.executeUpdate();
+                }
+            }
+            connection.commit();
         } catch (SQLException e) {
-            e.printStackTrace();
+            connection.rollback();
+            throw e;
+        } finally {
+            accepted.clear();
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private String bulkSql(int rows) {
+        if (bulkSql[rows] == null) {
+            bulkSql[rows] = config.slq(rows);
+        }
+        return bulkSql[rows];
+    }
+
+    private void bindRows(PreparedStatement preparedStatement, int first, int rows) {
+        int columns = config.getColumns().size();
+        for (int row = 0; row < rows; row++) {
+            var event = accepted.get(first + row);
+            for (Column column : config.getColumns()) {
+                column.bind(preparedStatement, event, row * columns);
+            }
         }
     }
 
+    @Override
+    public void append(Event event, Layout layout) {
+        if (filter.accept(event))
+            append(List.of(event), layout);
+    }
+
+    /**
+     * Filters the events first, so a batch with no accepted event opens no
+     * connection.
+     */
     @Override
     public void append(Collection<Event> events, Layout layout) {
+        accepted.clear();
+        for (Event event : events) {
+            if (filter.accept(event)) {
+                accepted.add(event);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
         try (Connection connection = connectionFactory.getConnection()) {
-            for (Event event : events) {
-                if (filter.accept(event))
-                    persistInDB(event, connection);
+            if (config.isBulkInsert()) {
+                bulkPersistInDB(connection);
+            } else {
+                persistInDB(connection);
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            AppenderStats.of(name).error(e);
+        } finally {
+            accepted.clear();
         }
     }
 
@@ -88,6 +188,11 @@ class JDBCAppender implements Appender {
         this.filter = filter;
     }
 
+    @Override
+    public Filter filter() {
+        return filter;
+    }
+
     @Override
     public String toString() {
         return "JDBCAppender(name = %s, connectionFactory = %s, config = %s, filter = %s, sql = %s)"
@@ -31,17 +31,55 @@ public class JDBCAppenderConfig {
     private Collection<Column> columns;
     private ConnectionFactory connectionFactory;
     private String connectURI;
+    /**
+     * Maximum number of rows sent to the database in one JDBC batch.
+     */
+    @Builder.Default
+    private int batchSize = 500;
+    /**
+     * Inserts many rows per statement with a multi row {@code VALUES} list
+     * instead of JDBC batches.
+     */
+    private boolean bulkInsert;
+    /**
+     * Maximum number of bind parameters the driver accepts in one statement,
+     * used to size multi row statements.
+     */
+    @Builder.Default
+    private int maxParameters = 999;
 
     public String slq(){
+        return slq(1);
+    }
+
+    /**
+     * Builds an insert statement with one {@code (?, ?, ...)} group per row.
+     * @param rows
+     * @return the sql
+     */
+    public String slq(int rows){
         var sb = new StringBuilder("INSERT INTO ").append(tableName).append(" (");
         for(var column : columns) {
             sb.append(column.name()).append(", ");
         }
         sb.delete(sb.length() - 2, sb.length());
-        sb.append(") VALUES (");
-        columns.forEach(column -> sb.append("?, "));
-        sb.delete(sb.length() - 2, sb.length());
-        return sb.append(")").toString();
+        sb.append(") VALUES ");
+        for (int row = 0; row < rows; row++) {
+            sb.append("(");
+            columns.forEach(column -> sb.append("?, "));
+            sb.delete(sb.length() - 2, sb.length());
+            sb.append("), ");
+        }
+        return sb.delete(sb.length() - 2, sb.length()).toString();
+    }
+
+    /**
+     * The number of rows per multi row statement, so the number of bind
+     * parameters stays within {@code maxParameters}.
+     * @return the rows per statement
+     */
+    public int rowsPerStatement() {
+        return Math.max(1, Math.min(batchSize, maxParameters / Math.max(1, columns.size())));
     }
 
 }
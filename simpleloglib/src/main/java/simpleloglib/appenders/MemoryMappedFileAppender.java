@@ -0,0 +1,186 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import simpleloglib.Appender;
+import simpleloglib.AppenderStats;
+import simpleloglib.Event;
+import simpleloglib.Filter;
+import simpleloglib.Layout;
+
+/**
+ * Writes formatted events straight into a {@link MappedByteBuffer} region of
+ * the file, so appending an event is a memory copy. When a region is full the
+ * next one is mapped right after it, growing the file by
+ * {@code mapRegionSize} bytes. Closing the appender truncates the file to the
+ * bytes actually written; if the process dies before that the file ends with
+ * zero bytes up to the end of the last region, and an appender reopening it
+ * appends after that padding.
+ *
+ * <p>
+ * A mapping is only released when its buffer is garbage collected. The
+ * appender drops its reference before truncating, but on Windows the truncate
+ * still fails while the mapping is alive, leaving the padding in place. The
+ * error is reported and the channel closed anyway.
+ * 
+ * @author lunalobos
+ */
+class MemoryMappedFileAppender implements Appender {
+
+    private String name;
+    private Path path;
+    private Filter filter;
+    private EventEncoder encoder;
+    private FileAppenderConfig config;
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public MemoryMappedFileAppender(String name, FileAppenderConfig config) {
+        this.name = name;
+        this.path = Paths.get(config.getFilePath());
+        this.config = config;
+        this.encoder = new EventEncoder(StandardCharsets.UTF_8, 1024);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void append(Event event, Layout layout) {
+        if (!filter.accept(event)) {
+            return;
+        }
+        append(List.of(event), layout);
+    }
+
+    @Override
+    public void append(Collection<Event> events, Layout layout) {
+        lock.lock();
+        try {
+            for (Event event : events) {
+                if (filter.accept(event)) {
+                    write(encoder.encode(event, layout));
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("ERROR: " + e.getMessage());
+            AppenderStats.of(name).error(e);
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(ByteBuffer line) throws IOException {
+        if (region == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            map(channel.size(), line.remaining());
+        } else if (line.remaining() > region.remaining()) {
+            map(regionStart + region.position(), line.remaining());
+        }
+        region.put(line);
+    }
+
+    private void map(long start, int minimumSize) throws IOException {
+        if (region != null && config.isForce()) {
+            region.force();
+        }
+        long size = Math.max(config.getMapRegionSize(), minimumSize);
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+        regionStart = start;
+    }
+
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            if (region != null && config.isForce()) {
+                region.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the mapping and cuts the file down to the written length.
+     */
+    private void release() {
+        if (channel == null) {
+            return;
+        }
+        var channel = this.channel;
+        this.channel = null;
+        long length = -1L;
+        if (region != null) {
+            if (config.isForce()) {
+                region.force();
+            }
+            length = regionStart + region.position();
+            region = null;
+        }
+        try (channel) {
+            if (length >= 0) {
+                channel.truncate(length);
+            }
+        } catch (IOException e) {
+            System.out.println("ERROR: " + e.getMessage());
+            AppenderStats.of(name).error(e);
+        }
+    }
+
+    @Override
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public Filter filter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryMappedFileAppender(name = %s, path = %s, filter = %s, mapRegionSize = %d)".formatted(name,
+                path, filter, config.getMapRegionSize());
+    }
+}
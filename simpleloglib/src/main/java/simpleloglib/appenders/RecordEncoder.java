@@ -0,0 +1,43 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.appenders;
+
+import java.nio.ByteBuffer;
+
+import simpleloglib.Event;
+import simpleloglib.Layout;
+
+/**
+ * Turns an event into the bytes a file appender writes for it.
+ *
+ * @author lunalobos
+ */
+interface RecordEncoder {
+    /**
+     * Encodes one event.
+     * @param event
+     * @param layout
+     * @return the encoded bytes, ready to be read; valid until the next call
+     */
+    ByteBuffer encode(Event event, Layout layout);
+
+    /**
+     * Called when the bytes encoded so far were discarded or the file was
+     * closed, so encoders that refer back to earlier records start over.
+     */
+    default void reset() {
+    }
+}
@@ -0,0 +1,153 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import simpleloglib.AppenderStats;
+
+/**
+ * A {@link FileAppender} that renames the active file once it reaches
+ * {@code maxFileSize} bytes or a {@link RolloverInterval} boundary passes.
+ * The rename is atomic where the file system supports it. Rolled files are
+ * gzipped and pruned to {@code maxHistory} on a background thread, so the
+ * writer only ever waits for the rename.
+ * 
+ * @author lunalobos
+ */
+class RollingFileAppender extends FileAppender {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    /**
+     * Matches what {@link #rolledPath(Path)} and {@link #compress(Path)} append
+     * to the active file name, so pruning never touches other files.
+     */
+    private static final String ROLLED_SUFFIX = "\\.\\d{8}-\\d{6}-\\d{3}(\\.\\d+)?(\\.gz)?";
+
+    private long nextBoundary;
+
+    public RollingFileAppender(String name, FileAppenderConfig config) {
+        super(name, config);
+        nextBoundary = config.getRolloverInterval().nextBoundary(System.currentTimeMillis());
+    }
+
+    /**
+     * Holds the housekeeping thread shared by every rolling appender, created
+     * on first use without locking.
+     */
+    private static class Housekeeper {
+        static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "simpleloglib-rolling-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    protected boolean shouldRollOver(long fileSize, int lineSize) {
+        if (fileSize == 0) {
+            return false;
+        }
+        long maxFileSize = config().getMaxFileSize();
+        if (maxFileSize > 0 && fileSize + lineSize > maxFileSize) {
+            return true;
+        }
+        return nextBoundary != Long.MAX_VALUE && System.currentTimeMillis() >= nextBoundary;
+    }
+
+    @Override
+    protected void rollOver(Path activeFile) throws IOException {
+        long now = System.currentTimeMillis();
+        nextBoundary = config().getRolloverInterval().nextBoundary(now);
+        var rolled = rolledPath(activeFile);
+        try {
+            Files.move(activeFile, rolled, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(activeFile, rolled);
+        }
+        Housekeeper.INSTANCE.submit(() -> housekeeping(activeFile, rolled));
+    }
+
+    private Path rolledPath(Path activeFile) {
+        var base = activeFile.getFileName() + "." + LocalDateTime.now().format(SUFFIX);
+        var rolled = activeFile.resolveSibling(base);
+        for (int i = 1; Files.exists(rolled) || Files.exists(rolled.resolveSibling(rolled.getFileName() + ".gz")); i++) {
+            rolled = activeFile.resolveSibling(base + "." + i);
+        }
+        return rolled;
+    }
+
+    private void housekeeping(Path activeFile, Path rolled) {
+        try {
+            if (config().isCompress()) {
+                compress(rolled);
+            }
+            prune(activeFile);
+        } catch (IOException e) {
+            System.out.println("ERROR: " + e.getMessage());
+            AppenderStats.of(name()).error(e);
+        }
+    }
+
+    private void compress(Path rolled) throws IOException {
+        var gzip = rolled.resolveSibling(rolled.getFileName() + ".gz");
+        var partial = rolled.resolveSibling(rolled.getFileName() + ".gz.tmp");
+        try (InputStream in = Files.newInputStream(rolled);
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+            in.transferTo(out);
+        }
+        Files.move(partial, gzip, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(rolled);
+    }
+
+    private void prune(Path activeFile) throws IOException {
+        int maxHistory = config().getMaxHistory();
+        if (maxHistory <= 0) {
+            return;
+        }
+        var rolledName = Pattern.compile(Pattern.quote(activeFile.getFileName().toString()) + ROLLED_SUFFIX);
+        var directory = activeFile.toAbsolutePath().getParent();
+        try (Stream<Path> files = Files.list(directory)) {
+            var rolledFiles = files
+                    .filter(file -> rolledName.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .toList();
+            for (int i = maxHistory; i < rolledFiles.size(); i++) {
+                Files.deleteIfExists(rolledFiles.get(i));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RollingFileAppender(%s, maxFileSize = %d, rolloverInterval = %s, maxHistory = %d)".formatted(
+                super.toString(), config().getMaxFileSize(), config().getRolloverInterval(),
+                config().getMaxHistory());
+    }
+}
@@ -0,0 +1,54 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Time based rollover periods, aligned to the system default zone.
+ * 
+ * @author lunalobos
+ */
+public enum RolloverInterval {
+    /**
+     * Only size based rollover.
+     */
+    NONE,
+    /**
+     * At the start of every hour.
+     */
+    HOURLY,
+    /**
+     * At midnight.
+     */
+    DAILY;
+
+    /**
+     * Computes the next rollover instant after the given time.
+     * @param epochMillis
+     * @return the next boundary in epoch milliseconds, or {@link Long#MAX_VALUE}
+     */
+    public long nextBoundary(long epochMillis) {
+        var now = ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        return switch (this) {
+            case NONE -> Long.MAX_VALUE;
+            case HOURLY -> now.truncatedTo(ChronoUnit.HOURS).plusHours(1).toInstant().toEpochMilli();
+            case DAILY -> now.truncatedTo(ChronoUnit.DAYS).plusDays(1).toInstant().toEpochMilli();
+        };
+    }
+}
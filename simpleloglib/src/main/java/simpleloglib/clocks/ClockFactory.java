@@ -0,0 +1,151 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.clocks;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import simpleloglib.Clock;
+
+/**
+ * Clock factory for implementations provided by this library.
+ * 
+ * @author lunalobos
+ */
+public class ClockFactory {
+
+    /**
+     * Retrieves a {@link Clock} backed by {@link System#currentTimeMillis()}
+     * @return the system clock
+     */
+    public static Clock getDefaultInstance() {
+        return SystemClock.INSTANCE;
+    }
+
+    /**
+     * Retrieves a {@link Clock} with the full precision of the system clock,
+     * usually microseconds. Each read allocates an {@link Instant} unless
+     * escape analysis removes it, so it is not suited to garbage free mode
+     * @return the precise clock
+     */
+    public static Clock getPreciseInstance() {
+        return PreciseClock.INSTANCE;
+    }
+
+    /**
+     * Retrieves a {@link Clock} that returns a value updated every millisecond
+     * by a background thread, so reading it is a single volatile read
+     * @return the cached clock
+     */
+    public static Clock getCachedInstance() {
+        return CachedClock.INSTANCE;
+    }
+
+    /**
+     * Retrieves a {@link Clock} that always returns the same time, for tests
+     * @param epochNanos
+     * @return a fixed clock
+     */
+    public static Clock getFixedInstance(long epochNanos) {
+        return new FixedClock(epochNanos);
+    }
+}
+
+class SystemClock implements Clock {
+    static final SystemClock INSTANCE = new SystemClock();
+
+    @Override
+    public long epochNanos() {
+        return System.currentTimeMillis() * 1_000_000L;
+    }
+
+    @Override
+    public String toString() {
+        return "SystemClock";
+    }
+}
+
+/**
+ * Reads {@link Instant#now()}, the only public source of sub-millisecond wall
+ * clock time. The instant is allocated on every read unless the JIT inlines
+ * the call and scalar replaces it.
+ */
+class PreciseClock implements Clock {
+    static final PreciseClock INSTANCE = new PreciseClock();
+
+    @Override
+    public long epochNanos() {
+        var now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    @Override
+    public String toString() {
+        return "PreciseClock";
+    }
+}
+
+/**
+ * Reads the system clock once per millisecond on a daemon ticker thread,
+ * created the first time the clock is used.
+ */
+class CachedClock implements Clock {
+    static final CachedClock INSTANCE = new CachedClock();
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile long epochNanos = System.currentTimeMillis() * 1_000_000L;
+
+    private CachedClock() {
+        var ticker = new Thread(this::tick, "simpleloglib-clock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    private void tick() {
+        while (true) {
+            epochNanos = System.currentTimeMillis() * 1_000_000L;
+            LockSupport.parkNanos(TICK_NANOS);
+        }
+    }
+
+    @Override
+    public long epochNanos() {
+        return epochNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedClock";
+    }
+}
+
+class FixedClock implements Clock {
+    private final long epochNanos;
+
+    FixedClock(long epochNanos) {
+        this.epochNanos = epochNanos;
+    }
+
+    @Override
+    public long epochNanos() {
+        return epochNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedClock(epochNanos = %d)".formatted(epochNanos);
+    }
+}
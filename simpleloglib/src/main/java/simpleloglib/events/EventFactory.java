@@ -15,7 +15,10 @@ limitations under the License.
 
 package simpleloglib.events;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 
 import lombok.Builder;
 import lombok.Data;
@@ -38,7 +41,33 @@ public class EventFactory {
                 .threadName(threadName)
                 .level(level)
                 .message(message)
+                .epochNanos(timestamp.toEpochSecond() * 1_000_000_000L + timestamp.getNano())
                 .timestamp(timestamp)
+                .hasOffset(true)
+                .logger(logger)
+                .build();
+    }
+
+    /**
+     * Creates an event from a primitive timestamp. The {@link OffsetDateTime}
+     * is only built if {@link Event#timestamp()} is called.
+     * @param throwable
+     * @param threadName
+     * @param level
+     * @param message
+     * @param epochNanos nanoseconds since the epoch
+     * @param logger
+     * @return the event
+     */
+    public static Event getDefaultInstance(Throwable throwable,
+            String threadName, Level level, Message message,
+            long epochNanos, Logger logger) {
+        return SimpleEvent.builder()
+                .throwable(throwable)
+                .threadName(threadName)
+                .level(level)
+                .message(message)
+                .epochNanos(epochNanos)
                 .logger(logger)
                 .build();
     }
@@ -52,8 +81,13 @@ class SimpleEvent implements Event {
     private String threadName;
     private Level level;
     private Message message;
+    private long epochNanos;
     private OffsetDateTime timestamp;
     private Logger logger;
+    /**
+     * Whether the timestamp was given, so its offset is kept.
+     */
+    private boolean hasOffset;
 
     @Override
     public Throwable throwable() {
@@ -77,9 +111,27 @@ class SimpleEvent implements Event {
 
     @Override
     public OffsetDateTime timestamp() {
+        if (timestamp == null) {
+            timestamp = OffsetDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), ZoneId.systemDefault());
+        }
         return timestamp;
     }
 
+    @Override
+    public ZoneOffset offset() {
+        return hasOffset ? timestamp.getOffset() : null;
+    }
+
+    @Override
+    public long epochMillis() {
+        return Math.floorDiv(epochNanos, 1_000_000L);
+    }
+
+    @Override
+    public int nanoOfMillisecond() {
+        return (int) Math.floorMod(epochNanos, 1_000_000L);
+    }
+
     @Override
     public Logger logger() {
         return logger;
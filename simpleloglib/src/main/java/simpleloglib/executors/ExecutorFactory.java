@@ -0,0 +1,160 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.executors;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor factory for the thread pools that hand events off from the logging
+ * threads.
+ * 
+ * @author lunalobos
+ */
+public class ExecutorFactory {
+
+    /**
+     * Retrieves a fixed pool of platform threads with a bounded queue. When the
+     * queue is full the logging thread runs the task itself.
+     * @param threads
+     * @param queueSize
+     * @return an implementation of {@link ExecutorService}
+     */
+    public static ExecutorService getDefaultInstance(int threads, int queueSize) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Retrieves an executor that starts a virtual thread per task, with at most
+     * {@code maxTasks} tasks pending. Beyond that the logging thread runs the
+     * task itself.
+     * @param maxTasks
+     * @return an implementation of {@link ExecutorService}
+     */
+    public static ExecutorService getVirtualInstance(int maxTasks) {
+        return new VirtualThreadExecutor(maxTasks);
+    }
+
+    /**
+     * Get the number of tasks running on an executor created by this factory.
+     * @param executor
+     * @return the number of running tasks, or -1 if unknown
+     */
+    public static int getActiveCount(ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return pool.getActiveCount();
+        }
+        if (executor instanceof VirtualThreadExecutor virtual) {
+            return virtual.activeCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Get the number of tasks waiting for a thread on an executor created by
+     * this factory. Virtual thread executors start every task right away.
+     * @param executor
+     * @return the number of queued tasks, or -1 if unknown
+     */
+    public static int getQueuedCount(ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return pool.getQueue().size();
+        }
+        if (executor instanceof VirtualThreadExecutor) {
+            return 0;
+        }
+        return -1;
+    }
+}
+
+/**
+ * Bounds a virtual thread per task executor, which has no queue of its own to
+ * bound.
+ */
+class VirtualThreadExecutor extends AbstractExecutorService {
+    private final ExecutorService delegate = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("simpleloglib-virtual-", 0).factory());
+    private final Semaphore permits;
+    private final int maxTasks;
+
+    VirtualThreadExecutor(int maxTasks) {
+        this.maxTasks = Math.max(1, maxTasks);
+        this.permits = new Semaphore(this.maxTasks);
+    }
+
+    int activeCount() {
+        return maxTasks - permits.availablePermits();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (delegate.isShutdown()) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            task.run();
+            return;
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadExecutor(available = %d)".formatted(permits.availablePermits());
+    }
+}
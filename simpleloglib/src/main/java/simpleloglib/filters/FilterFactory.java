@@ -15,6 +15,8 @@ limitations under the License.
 
 package simpleloglib.filters;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import simpleloglib.Event;
 import simpleloglib.Filter;
 import simpleloglib.Level;
@@ -32,6 +34,8 @@ public class FilterFactory {
 
 class ThresholdFilter implements Filter {
     private Level level;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
 
     public ThresholdFilter(Level level) {
         this.level = level;
@@ -39,7 +43,22 @@ class ThresholdFilter implements Filter {
 
     @Override
     public boolean accept(Event event) {
-        return event.level().ordinal() >= level.ordinal();
+        if (event.level().ordinal() >= level.ordinal()) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    @Override
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    @Override
+    public long rejected() {
+        return rejected.sum();
     }
 
     @Override
@@ -15,249 +15,250 @@ limitations under the License.
 
 package simpleloglib.layouts;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.LinkedList;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.regex.Pattern;
+import java.util.Objects;
 
 import simpleloglib.Event;
 import simpleloglib.Layout;
-import simpleloglib.Level;
-import simpleloglib.Logger;
 import simpleloglib.Message;
 
 /**
  * Utility class to create layouts.
  * 
+ * <p>The layout string is compiled once into a flat array of literal and field
+ * segments. Every token may appear any number of times. As with
+ * {@link String#format}, {@code %n} stands for the line separator and
+ * {@code %%} for a percent sign. Any other text, including a lone {@code %},
+ * is copied as it is.
+ * 
  * @author lunalobos
  */
 public class LayoutFactory {
-    private static final Pattern THROWABLE = Pattern.compile("%throwable");
-    private static final Pattern MESSSAGE = Pattern.compile("%msg");
-    private static final Pattern DATE = Pattern.compile("%date");
-    private static final Pattern LEVEL = Pattern.compile("%level");
-    private static final Pattern THREAD = Pattern.compile("%thread");
-    private static final Pattern LOGGER = Pattern.compile("%logger");
+    private static final String THROWABLE = "%throwable";
+    private static final String MESSSAGE = "%msg";
+    private static final String DATE = "%date";
+    private static final String LEVEL = "%level";
+    private static final String THREAD = "%thread";
+    private static final String LOGGER = "%logger";
+    private static final String[] TOKENS = { THROWABLE, MESSSAGE, DATE, LEVEL, THREAD, LOGGER };
+    private static final String LINE_SEPARATOR = "%n";
+    private static final String PERCENT = "%%";
 
     public static Layout getDefaultInstance(String layoutConfigString) {
-        var format = new String(layoutConfigString.toCharArray());
-        PriorityQueue<Getter<?>> getters = new PriorityQueue<>();
-        var throwableMatcher = THROWABLE.matcher(format);
-        if (throwableMatcher.find()) {
-            int index = throwableMatcher.start();
-            format = throwableMatcher.replaceFirst("%s");
-            getters.add(new ThrowableGetter(index));
-        }
-        var messageMatcher = MESSSAGE.matcher(format);
-        if (messageMatcher.find()) {
-            int index = messageMatcher.start();
-            format = messageMatcher.replaceFirst("%s");
-            getters.add(new MessageGetter(index));
-        }
-        var dateMatcher = DATE.matcher(format);
-        if (dateMatcher.find()) {
-            int index = dateMatcher.start();
-            format = dateMatcher.replaceFirst("%s");
-            getters.add(new DateGetter(index));
-        }
-        var levelMatcher = LEVEL.matcher(format);
-        if (levelMatcher.find()) {
-            int index = levelMatcher.start();
-            format = levelMatcher.replaceFirst("%s");
-            getters.add(new LevelGetter(index));
-        }
-        var threadMatcher = THREAD.matcher(format);
-        if (threadMatcher.find()) {
-            int index = threadMatcher.start();
-            format = threadMatcher.replaceFirst("%s");
-            getters.add(new ThreadGetter(index));
+        List<Segment> segments = new ArrayList<>();
+        var literal = new StringBuilder();
+        int i = 0;
+        while (i < layoutConfigString.length()) {
+            if (layoutConfigString.startsWith(LINE_SEPARATOR, i)) {
+                literal.append(System.lineSeparator());
+                i += LINE_SEPARATOR.length();
+                continue;
+            }
+            if (layoutConfigString.startsWith(PERCENT, i)) {
+                literal.append('%');
+                i += PERCENT.length();
+                continue;
+            }
+            String token = tokenAt(layoutConfigString, i);
+            if (token == null) {
+                literal.append(layoutConfigString.charAt(i));
+                i++;
+                continue;
+            }
+            if (literal.length() > 0) {
+                segments.add(new LiteralSegment(literal.toString()));
+                literal.setLength(0);
+            }
+            segments.add(segmentFor(token));
+            i += token.length();
         }
-        var loggerMatcher = LOGGER.matcher(format);
-        if (loggerMatcher.find()) {
-            int index = loggerMatcher.start();
-            format = loggerMatcher.replaceFirst("%s");
-            getters.add(new LoggerGetter(index));
+        if (literal.length() > 0) {
+            segments.add(new LiteralSegment(literal.toString()));
         }
-        return new LayoutImpl(format, getters, layoutConfigString);
-    }
-}
-
-interface Getter<T> extends Comparable<Getter<?>> {
-    int priority();
-    T getProperty(Event event);
-}
-
-class ThrowableGetter implements Getter<Throwable> {
-
-    private int priority;
-
-    public ThrowableGetter(int priority) {
-        this.priority = priority;
-    }
-    @Override
-    public int priority() {
-        return priority;
+        return new LayoutImpl(segments.toArray(new Segment[0]), layoutConfigString);
     }
 
-    @Override
-    public Throwable getProperty(Event event) {
-        return event.throwable();
+    private static String tokenAt(String layoutConfigString, int index) {
+        if (layoutConfigString.charAt(index) != '%') {
+            return null;
+        }
+        for (String token : TOKENS) {
+            if (layoutConfigString.startsWith(token, index)) {
+                return token;
+            }
+        }
+        return null;
     }
 
-    @Override
-    public int compareTo(Getter<?> arg0) {
-        return Integer.compare(priority(), arg0.priority());
+    private static Segment segmentFor(String token) {
+        return switch (token) {
+            case THROWABLE -> new ThrowableSegment();
+            case MESSSAGE -> new MessageSegment();
+            case DATE -> new DateSegment();
+            case LEVEL -> new LevelSegment();
+            case THREAD -> new ThreadSegment();
+            default -> new LoggerSegment();
+        };
     }
 }
 
-class MessageGetter implements Getter<Message> {
-
-    private int priority;
-
-    public MessageGetter(int priority) {
-        this.priority = priority;
-    }
-    @Override
-    public int priority() {
-        return priority;
-    }
-
-    @Override
-    public Message getProperty(Event event) {
-        return event.message();
-    }
-
-    @Override
-    public int compareTo(Getter<?> arg0) {
-        return Integer.compare(priority(), arg0.priority());
-    }
+/**
+ * A compiled piece of a layout that appends itself to the output.
+ */
+interface Segment {
+    void render(Event event, StringBuilder buffer);
 }
 
-class DateGetter implements Getter<OffsetDateTime> {
-
-    private int priority;
+class LiteralSegment implements Segment {
+    private String text;
 
-    public DateGetter(int priority) {
-        this.priority = priority;
+    public LiteralSegment(String text) {
+        this.text = text;
     }
 
     @Override
-    public int priority() {
-        return priority;
-    }
-
-    @Override
-    public OffsetDateTime getProperty(Event event) {
-        return event.timestamp();
-    }
-
-    @Override
-    public int compareTo(Getter<?> arg0) {
-        return Integer.compare(priority(), arg0.priority());
+    public void render(Event event, StringBuilder buffer) {
+        buffer.append(text);
     }
 }
 
-class LevelGetter implements Getter<Level> {
-
-    private int priority;
-
-    public LevelGetter(int priority) {
-        this.priority = priority;
-    }
-
-    @Override
-    public int priority() {
-        return priority;
-    }
-
+class ThrowableSegment implements Segment {
     @Override
-    public Level getProperty(Event event) {
-        return event.level();
+    public void render(Event event, StringBuilder buffer) {
+        buffer.append(event.throwable());
     }
+}
 
+class MessageSegment implements Segment {
     @Override
-    public int compareTo(Getter<?> arg0) {
-        return Integer.compare(priority(), arg0.priority());
+    public void render(Event event, StringBuilder buffer) {
+        Message message = event.message();
+        if (message == null) {
+            buffer.append("null");
+        } else {
+            message.formatTo(buffer);
+        }
     }
 }
 
-class ThreadGetter implements Getter<String> {
-
-    private int priority;
-
-    public ThreadGetter(int priority) {
-        this.priority = priority;
-    }
+/**
+ * Renders the timestamp exactly like {@link OffsetDateTime#toString()}, but
+ * from the primitive epoch timestamp, in the offset of the event or else in
+ * the system default zone. Everything down to the minute and the offset is
+ * cached once per second and offset.
+ */
+class DateSegment implements Segment {
+    private volatile CachedSecond cached = new CachedSecond(Long.MIN_VALUE, null, 0, "", "");
 
     @Override
-    public int priority() {
-        return priority;
+    public void render(Event event, StringBuilder buffer) {
+        long millis = event.epochMillis();
+        long epochSecond = Math.floorDiv(millis, 1000L);
+        int nano = Math.floorMod(millis, 1000) * 1_000_000 + event.nanoOfMillisecond();
+        ZoneOffset offset = event.offset();
+        var second = cached;
+        if (second.epochSecond() != epochSecond || !Objects.equals(second.eventOffset(), offset)) {
+            second = CachedSecond.of(epochSecond, offset);
+            cached = second;
+        }
+        buffer.append(second.dateHourMinute());
+        if (second.secondOfMinute() > 0 || nano > 0) {
+            buffer.append(':');
+            appendPadded(buffer, second.secondOfMinute(), 2);
+            if (nano > 0) {
+                buffer.append('.');
+                if (nano % 1_000_000 == 0) {
+                    appendPadded(buffer, nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    appendPadded(buffer, nano / 1000, 6);
+                } else {
+                    appendPadded(buffer, nano, 9);
+                }
+            }
+        }
+        buffer.append(second.offset());
     }
 
-    @Override
-    public String getProperty(Event event) {
-        return event.threadName();
+    private static void appendPadded(StringBuilder buffer, int value, int digits) {
+        for (int limit = 10; digits > 1; digits--, limit *= 10) {
+            if (value < limit) {
+                buffer.append('0');
+            }
+        }
+        buffer.append(value);
     }
 
-    @Override
-    public int compareTo(Getter<?> arg0) {
-        return Integer.compare(priority(), arg0.priority());
+    private record CachedSecond(long epochSecond, ZoneOffset eventOffset, int secondOfMinute,
+            String dateHourMinute, String offset) {
+        static CachedSecond of(long epochSecond, ZoneOffset eventOffset) {
+            ZoneId zone = eventOffset != null ? eventOffset : ZoneId.systemDefault();
+            var dateTime = OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone);
+            var dateHourMinute = dateTime.toLocalDateTime().withSecond(0).toString();
+            return new CachedSecond(epochSecond, eventOffset, dateTime.getSecond(), dateHourMinute,
+                    dateTime.getOffset().toString());
+        }
     }
 }
 
-class LoggerGetter implements Getter<Logger> {
-
-    private int priority;
-
-    public LoggerGetter(int priority) {
-        this.priority = priority;
-    }
-
+class LevelSegment implements Segment {
     @Override
-    public int priority() {
-        return priority;
+    public void render(Event event, StringBuilder buffer) {
+        buffer.append(event.level());
     }
+}
 
+class ThreadSegment implements Segment {
     @Override
-    public Logger getProperty(Event event) {
-        return event.logger();
+    public void render(Event event, StringBuilder buffer) {
+        buffer.append(event.threadName());
     }
+}
 
+class LoggerSegment implements Segment {
     @Override
-    public int compareTo(Getter<?> arg0) {
-        return Integer.compare(priority(), arg0.priority());
+    public void render(Event event, StringBuilder buffer) {
+        buffer.append(event.logger());
     }
 }
 
 class LayoutImpl implements Layout {
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
     private String layoutConfigString;
-    private String format;
-    private PriorityQueue<Getter<?>> getters = new PriorityQueue<>();
-    
-    public LayoutImpl(String format, PriorityQueue<Getter<?>> getters, String layoutConfigString) {
-        this.format = format;
-        this.getters = getters;
+    private Segment[] segments;
+
+    public LayoutImpl(Segment[] segments, String layoutConfigString) {
+        this.segments = segments;
         this.layoutConfigString = layoutConfigString;
     }
 
-    private PriorityQueue<Getter<?>> copy(){
-        return new PriorityQueue<>(getters);
+    @Override
+    public String format(Event event) {
+        var buffer = BUFFER.get();
+        buffer.setLength(0);
+        format(event, buffer);
+        var formatted = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return formatted;
     }
 
     @Override
-    public String format(Event event) {
-        List<Object> objects = new LinkedList<>();
-        PriorityQueue<Getter<?>> getters = copy();
-        while (!getters.isEmpty()) {
-            Getter<?> getter = getters.poll();
-            objects.add(getter.getProperty(event));
+    public void format(Event event, StringBuilder buffer) {
+        for (Segment segment : segments) {
+            segment.render(event, buffer);
         }
-        return format.formatted(objects.toArray());
     }
 
     @Override
     public String toString() {
         return "LayoutImpl(format = %s)".formatted(layoutConfigString);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.loggers;
+
+/**
+ * Live metrics of one appender, registered as
+ * {@code simpleloglib:type=Appender,name=<name>}.
+ * 
+ * @author lunalobos
+ */
+public interface AppenderMXBean {
+
+    String getName();
+
+    /**
+     * Get the number of batches handed to the appender.
+     * @return the number of batches
+     */
+    long getBatches();
+
+    /**
+     * Get the number of events handed to the appender, before filtering.
+     * @return the number of events
+     */
+    long getEvents();
+
+    /**
+     * Get the number of events accepted by the filter of the appender.
+     * @return the count, or -1 if the filter does not count
+     */
+    long getAccepted();
+
+    /**
+     * Get the number of events rejected by the filter of the appender.
+     * @return the count, or -1 if the filter does not count
+     */
+    long getRejected();
+
+    long getErrors();
+
+    /**
+     * Get the last error with the time it happened.
+     * @return the last error, or null if there was none
+     */
+    String getLastError();
+
+    String getFilter();
+
+    /**
+     * Writes out anything the appender is holding in memory.
+     */
+    void flush();
+}
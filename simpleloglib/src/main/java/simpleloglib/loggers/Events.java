@@ -15,44 +15,507 @@ limitations under the License.
 
 package simpleloglib.loggers;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
-import lombok.Synchronized;
+import simpleloglib.AppenderStats;
 import simpleloglib.Config;
+import simpleloglib.DroppedEvents;
 import simpleloglib.Event;
+import simpleloglib.Latencies;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.OverflowPolicy;
+import simpleloglib.Pipeline;
 
 /**
+ * Events are published into a preallocated {@link RingBuffer} by any number of
+ * threads without locking. A single dedicated consumer thread drains the
+ * buffer in batches and pushes them to the appenders, so appender I/O never
+ * blocks the producers unless the buffer is full. What happens then is decided
+ * by the configured {@link OverflowPolicy}.
+ *
+ * <p>
+ * Batches go through the {@link Pipeline} current when they are pushed. After
+ * a reload the pushing thread closes the previous appenders before anything
+ * reaches the new ones, so each appender sees every event exactly once.
+ *
  * @author lunalobos
  */
 class Events {
 
-	public static final Events SINGLETON = new Events();
+	public static final Events SINGLETON = create();
+	/**
+	 * Returned by {@link #claim(Level)} when the event must be dropped.
+	 */
+	public static final long DROPPED = -1L;
+	/**
+	 * Returned by {@link #claim(Level)} when the caller must append the event
+	 * itself. The sequence can still be passed to {@link #mutableEvent(long)}
+	 * and {@link #publish(long, long)}.
+	 */
+	public static final long SYNCHRONOUS = -2L;
 
-	private Queue<Event> events;
-	private Object $lock = new Object();
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = 100;
+	private static final long SWAP_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
 
-	private Events() {
-		events = new LinkedList<>();
+	private final RingBuffer<EventSlot> ringBuffer;
+	private final int batchSize;
+	private final List<Event> batch;
+	private final Thread consumer;
+	private final OverflowPolicy overflowPolicy;
+	private final Level overflowLevel;
+	private final Supplier<Pipeline> pipelines;
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final ThreadLocal<MutableEvent> callerEvent = ThreadLocal.withInitial(MutableEvent::new);
+	private volatile boolean running = true;
+	private volatile boolean consumerParked = false;
+	private final AtomicBoolean overflowed = new AtomicBoolean();
+	/**
+	 * The pipeline batches are pushed to. Only changed by the thread pushing.
+	 */
+	private volatile Pipeline pipeline;
+	private Layout timedLayout;
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder batchedEvents = new LongAdder();
+	private volatile int lastBatchSize;
+
+	private static Events create() {
+		var config = Config.SINGLETON;
+		var events = new Events(config.getBufferSize(), config.getBatchSize(), config.getOverflowPolicy(),
+				config.getOverflowLevel(), config.isGarbageFree(), config::getPipeline);
+		config.addListener(events::awaitSwap);
+		Runtime.getRuntime().addShutdownHook(new Thread(events::shutdown, "simpleloglib-events-shutdown"));
+		return events;
+	}
+
+	/**
+	 * @param bufferSize     the ring buffer capacity, rounded up to a power of two
+	 * @param batchSize      the maximum number of events pushed at once
+	 * @param overflowPolicy what happens to an event when the buffer is full
+	 * @param overflowLevel  the level kept under
+	 *                       {@link OverflowPolicy#DROP_BELOW_LEVEL}
+	 * @param garbageFree    whether the slots own a {@link MutableEvent}
+	 * @param pipelines      supplies the latest pipeline
+	 */
+	Events(int bufferSize, int batchSize, OverflowPolicy overflowPolicy, Level overflowLevel, boolean garbageFree,
+			Supplier<Pipeline> pipelines) {
+		this.ringBuffer = new RingBuffer<>(bufferSize, () -> new EventSlot(garbageFree));
+		this.batchSize = Math.max(1, batchSize);
+		this.batch = new ArrayList<>(this.batchSize);
+		this.overflowPolicy = overflowPolicy;
+		this.overflowLevel = overflowLevel;
+		this.pipelines = pipelines;
+		this.pipeline = pipelines.get();
+		this.timedLayout = new TimedLayout(pipeline.layout());
+		this.consumer = new Thread(this::consume, "simpleloglib-events");
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+	/**
+	 * Publishes an immutable event.
+	 *
+	 * @param event
+	 * @param captured the {@link System#nanoTime()} of the logger call, only
+	 *                 used when latencies are recorded
+	 */
+	public void handleEvent(Event event, long captured) {
+		long sequence = claim(event.level());
+		if (sequence == DROPPED) {
+			return;
+		}
+		if (sequence == SYNCHRONOUS) {
+			appendSynchronously(event);
+			return;
+		}
+		ringBuffer.get(sequence).event = event;
+		publish(sequence, captured);
+	}
+
+	/**
+	 * Claims a slot for the garbage free capture path. Unless the event is
+	 * dropped, the caller must fill {@link #mutableEvent(long)} and then call
+	 * {@link #publish(long, long)}.
+	 *
+	 * @param level the level of the event
+	 * @return the claimed sequence, {@link #DROPPED} or {@link #SYNCHRONOUS}
+	 */
+	public long claim(Level level) {
+		switch (overflowPolicy) {
+			case DROP_NEWEST:
+			case DROP_BELOW_LEVEL:
+			case SYNCHRONOUS:
+				long sequence = ringBuffer.tryNext();
+				if (sequence >= 0) {
+					return sequence;
+				}
+				overflow();
+				if (overflowPolicy == OverflowPolicy.SYNCHRONOUS) {
+					return SYNCHRONOUS;
+				}
+				if (overflowPolicy == OverflowPolicy.DROP_BELOW_LEVEL && level.ordinal() >= overflowLevel.ordinal()) {
+					return ringBuffer.next();
+				}
+				DroppedEvents.increment(level);
+				return DROPPED;
+			case DROP_OLDEST:
+				return claimEvicting(level);
+			default:
+				return ringBuffer.next();
+		}
+	}
+
+	/**
+	 * Evicts the oldest published events until a slot is free. While the
+	 * consumer still holds slots of garbage free events nothing can be evicted,
+	 * and after a short spin the new event is dropped instead, so the caller
+	 * never waits for the appenders.
+	 */
+	private long claimEvicting(Level level) {
+		int tries = 0;
+		while (true) {
+			long sequence = ringBuffer.tryNext();
+			if (sequence >= 0) {
+				return sequence;
+			}
+			overflow();
+			var evicted = ringBuffer.evict(slot -> slot.event.level());
+			if (evicted != null) {
+				DroppedEvents.increment(evicted);
+			} else if (++tries < SPIN_TRIES) {
+				Thread.onSpinWait();
+			} else {
+				DroppedEvents.increment(level);
+				return DROPPED;
+			}
+		}
+	}
+
+	public MutableEvent mutableEvent(long sequence) {
+		if (sequence == SYNCHRONOUS) {
+			return callerEvent.get();
+		}
+		var slot = ringBuffer.get(sequence);
+		if (slot.mutable == null) {
+			slot.mutable = new MutableEvent();
+		}
+		slot.event = slot.mutable;
+		return slot.mutable;
+	}
+
+	public void publish(long sequence, long captured) {
+		if (sequence == SYNCHRONOUS) {
+			var event = callerEvent.get();
+			try {
+				appendSynchronously(event);
+			} finally {
+				event.clear();
+			}
+			return;
+		}
+		ringBuffer.get(sequence).capturedNanos = captured;
+		ringBuffer.publish(sequence);
+		if (consumerParked) {
+			LockSupport.unpark(consumer);
+		}
 	}
 
-	@Synchronized("$lock")
-	public void handleEvent(Event event) {
-		if (events.size() < Config.SINGLETON.getBatchSize()) {
-			events.add(event);
+	private void appendSynchronously(Event event) {
+		appendLock.lock();
+		try {
+			pushEvents(List.of(event));
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	private void overflow() {
+		if (!overflowed.get() && overflowed.compareAndSet(false, true)) {
+			System.out.println("WARNING: the event buffer is full, applying overflow policy %s".formatted(overflowPolicy));
+		}
+	}
+
+	/**
+	 * Drains the buffer until shutdown. An idle consumer spins and then yields
+	 * for a while before it parks, so producers under steady load rarely have
+	 * to pay for {@link LockSupport#unpark(Thread)}.
+	 */
+	private void consume() {
+		int idle = 0;
+		while (running) {
+			if (drain() > 0) {
+				idle = 0;
+			} else if (idle < SPIN_TRIES) {
+				idle++;
+				Thread.onSpinWait();
+			} else if (idle < SPIN_TRIES + YIELD_TRIES) {
+				idle++;
+				Thread.yield();
+			} else {
+				consumerParked = true;
+				if (!ringBuffer.isPublished(ringBuffer.claimed() + 1) && running) {
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				}
+				consumerParked = false;
+				if (pipeline != pipelines.get()) {
+					swapLocked();
+				}
+			}
+		}
+		while (drain() > 0)
+			;
+	}
+
+	/**
+	 * Moves up to one batch of published events out of the ring buffer and
+	 * pushes them to the appenders. Slots holding immutable events are released
+	 * before the appenders run; slots holding a {@link MutableEvent} are only
+	 * released after the appenders are done with it. When a producer evicts
+	 * some of the events while they are read, the batch is read again.
+	 *
+	 * @return the number of events pushed
+	 */
+	private int drain() {
+		long first;
+		long next;
+		boolean holdsMutable;
+		do {
+			batch.clear();
+			first = ringBuffer.claimed() + 1;
+			next = first;
+			holdsMutable = false;
+			while (batch.size() < batchSize && ringBuffer.isPublished(next)) {
+				var slot = ringBuffer.get(next);
+				batch.add(slot.event);
+				holdsMutable |= slot.event == slot.mutable;
+				next++;
+			}
+			if (batch.isEmpty()) {
+				return 0;
+			}
+		} while (!ringBuffer.claim(first - 1, next - 1));
+		int drained = batch.size();
+		if (Latencies.ENABLED) {
+			long now = System.nanoTime();
+			for (long sequence = first; sequence < next; sequence++) {
+				Latencies.record(Latencies.Stage.QUEUE_DWELL, now - ringBuffer.get(sequence).capturedNanos);
+			}
+		}
+		if (!holdsMutable) {
+			clear(first, next);
+			ringBuffer.release(next - 1);
+			pushLocked(batch);
 		} else {
-			pushEvents();
-			events.add(event);
+			pushLocked(batch);
+			clear(first, next);
+			ringBuffer.release(next - 1);
 		}
+		batch.clear();
+		return drained;
 	}
 
-	@Synchronized("$lock")
-	public void pushEvents() {
-		var appenders = Config.SINGLETON.getAppenders();
-		for (var appender : appenders) {
-			appender.append(events, Config.SINGLETON.getLayout());
+	private void clear(long first, long end) {
+		for (long sequence = first; sequence < end; sequence++) {
+			var slot = ringBuffer.get(sequence);
+			if (slot.event == slot.mutable) {
+				slot.mutable.clear();
+			}
+			slot.event = null;
 		}
-		events.clear();
+	}
+
+	private void pushLocked(Collection<Event> events) {
+		if (overflowPolicy != OverflowPolicy.SYNCHRONOUS) {
+			pushEvents(events);
+			return;
+		}
+		appendLock.lock();
+		try {
+			pushEvents(events);
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	private void pushEvents(Collection<Event> events) {
+		var current = swap();
+		var layout = Latencies.ENABLED ? timedLayout : current.layout();
+		int size = events.size();
+		batches.increment();
+		batchedEvents.add(size);
+		lastBatchSize = size;
+		for (var appender : current.appenders()) {
+			var stats = AppenderStats.of(appender.name());
+			stats.batch(size);
+			long start = Latencies.ENABLED ? System.nanoTime() : 0L;
+			try {
+				appender.append(events, layout);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+				stats.error(e);
+			}
+			if (Latencies.ENABLED) {
+				Latencies.recordAppend(appender.name(), System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * Moves to the latest pipeline, closing the appenders of the previous one
+	 * and of any skipped in between that are not reused. Must run on the
+	 * thread pushing events, which is the only one retiring pipelines.
+	 *
+	 * @return the latest pipeline
+	 */
+	private Pipeline swap() {
+		var latest = pipelines.get();
+		if (latest != pipeline) {
+			pipeline.retire(latest);
+			pipeline = latest;
+			timedLayout = new TimedLayout(latest.layout());
+		}
+		return latest;
+	}
+
+	private void swapLocked() {
+		if (overflowPolicy != OverflowPolicy.SYNCHRONOUS) {
+			swap();
+			return;
+		}
+		appendLock.lock();
+		try {
+			swap();
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Runs on the reloading thread after a pipeline swap. Wakes the consumer up
+	 * and waits until it has moved to the new pipeline.
+	 */
+	private void awaitSwap() {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+		while (pipeline != pipelines.get() && consumer.isAlive() && System.nanoTime() < deadline) {
+			LockSupport.unpark(consumer);
+			LockSupport.parkNanos(this, SWAP_PARK_NANOS);
+		}
+	}
+
+	/**
+	 * Lets the thread pool hand off the events it still holds, stops the
+	 * consumer after it has pushed every published event and closes the
+	 * appenders of the current pipeline.
+	 */
+	public void shutdown() {
+		var threadPool = Config.SINGLETON.getThreadPool();
+		threadPool.shutdown();
+		try {
+			threadPool.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		stop();
+	}
+
+	/**
+	 * Stops the consumer after it has pushed every published event and closes
+	 * the appenders of the current pipeline.
+	 */
+	void stop() {
+		running = false;
+		LockSupport.unpark(consumer);
+		try {
+			consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		swapLocked();
+		pipeline.retire(null);
+	}
+
+	/**
+	 * Get the number of events published but not yet pushed to the appenders.
+	 * @return the queue depth
+	 */
+	public long queueDepth() {
+		return ringBuffer.size();
+	}
+
+	public int queueCapacity() {
+		return ringBuffer.capacity();
+	}
+
+	public long batches() {
+		return batches.sum();
+	}
+
+	public long batchedEvents() {
+		return batchedEvents.sum();
+	}
+
+	public int lastBatchSize() {
+		return lastBatchSize;
+	}
+
+	@Override
+	public String toString() {
+		return "Events(ringBuffer = %s)".formatted(ringBuffer);
+	}
+}
+
+/**
+ * Preallocated ring buffer slot. In garbage free mode it also owns the
+ * {@link MutableEvent} that is filled in place by the caller thread.
+ */
+class EventSlot {
+	Event event;
+	MutableEvent mutable;
+	long capturedNanos;
+
+	EventSlot(boolean garbageFree) {
+		mutable = garbageFree ? new MutableEvent() : null;
+	}
+}
+
+/**
+ * Records the time spent in the wrapped layout.
+ */
+class TimedLayout implements Layout {
+	private final Layout layout;
+
+	TimedLayout(Layout layout) {
+		this.layout = layout;
+	}
+
+	@Override
+	public String format(Event event) {
+		long start = System.nanoTime();
+		var formatted = layout.format(event);
+		Latencies.record(Latencies.Stage.LAYOUT, System.nanoTime() - start);
+		return formatted;
+	}
+
+	@Override
+	public void format(Event event, StringBuilder buffer) {
+		long start = System.nanoTime();
+		layout.format(event, buffer);
+		Latencies.record(Latencies.Stage.LAYOUT, System.nanoTime() - start);
+	}
 
+	@Override
+	public String toString() {
+		return layout.toString();
 	}
 }
@@ -16,12 +16,12 @@ limitations under the License.
 package simpleloglib.loggers;
 
 import simpleloglib.Config;
+import simpleloglib.Latencies;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
-import java.time.OffsetDateTime;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import simpleloglib.Level;
 import simpleloglib.Logger;
 import simpleloglib.Message;
@@ -39,21 +39,46 @@ import simpleloglib.messages.MsgFactory;
  */
 public class LogManager {
 
-    private static final Map<String, Logger> loggers = new HashMap<>();
+    private static final ConcurrentMap<String, LoggerImp> loggers = new ConcurrentHashMap<>();
+
+    static {
+        Config.SINGLETON.addListener(LogManager::refreshLevels);
+        MBeans.register();
+    }
+
+    /**
+     * Caches the logger of each class on the class itself, so lookups by class
+     * do not hash the class name.
+     */
+    private static final ClassValue<Logger> classLoggers = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return getLogger(type.getName());
+        }
+    };
 
     public static Logger getLogger(Class<?> classObj) {
-        if (loggers.containsKey(classObj.getName())) {
-            return loggers.get(classObj.getName());
-        } else {
-            var logger = new LoggerImp(classObj);
-            loggers.put(classObj.getName(), logger);
-            return logger;
+        return classLoggers.get(classObj);
+    }
+
+    /**
+     * Gets the logger with the given name, creating it on first use. Concurrent
+     * callers always get the same instance.
+     * @param name
+     * @return the logger
+     */
+    public static Logger getLogger(String name) {
+        var logger = loggers.computeIfAbsent(name, LoggerImp::new);
+        if (logger.isStale()) {
+            logger.refreshLevel();
         }
+        return logger;
     }
 
-    static {
-        var executorService = Executors.newSingleThreadScheduledExecutor();
-		executorService.scheduleAtFixedRate(() -> Events.SINGLETON.pushEvents(), 10, 25, TimeUnit.MILLISECONDS);
+    private static void refreshLevels() {
+        for (var logger : loggers.values()) {
+            logger.refreshLevel();
+        }
     }
 }
 
@@ -72,110 +97,461 @@ class LoggerImp implements Logger {
     };
 
     private String className;
+    /**
+     * Ordinal of the effective level, so disabled calls cost one comparison.
+     */
+    private volatile int threshold;
+    private volatile long generation;
 
     public LoggerImp(Class<?> classObj) {
-        this.className = classObj.getName();
+        this(classObj.getName());
+    }
+
+    public LoggerImp(String name) {
+        this.className = name;
+        refreshLevel();
+    }
+
+    /**
+     * Recomputes the cached effective level from the current configuration.
+     */
+    void refreshLevel() {
+        generation = Config.SINGLETON.getGeneration();
+        threshold = Config.SINGLETON.getEffectiveLevel(className).ordinal();
+    }
+
+    boolean isStale() {
+        return generation != Config.SINGLETON.getGeneration();
     }
 
     private void newEvent(Message msg, Throwable throwable, Level Level) {
+        long captured = Latencies.ENABLED ? System.nanoTime() : 0L;
+        if (Config.SINGLETON.isGarbageFree()) {
+            var events = Events.SINGLETON;
+            long sequence = events.claim(Level);
+            if (sequence == Events.DROPPED) {
+                return;
+            }
+            try {
+                events.mutableEvent(sequence).set(this, Level, throwable, msg);
+            } finally {
+                events.publish(sequence, captured);
+            }
+            recordEnqueue(captured);
+            return;
+        }
         var threadName = Thread.currentThread().getName();
-        var date = OffsetDateTime.now();
+        long epochNanos = Config.SINGLETON.getClock().epochNanos();
+        if (Config.SINGLETON.isDirectHandoff()) {
+            triggerEvent(msg, throwable, Level, threadName, epochNanos, captured);
+        } else {
+            Config.SINGLETON.getThreadPool()
+                    .submit(() -> triggerEvent(msg, throwable, Level, threadName, epochNanos, captured));
+        }
+        recordEnqueue(captured);
+    }
 
-        Config.SINGLETON.getThreadPool().submit(() -> triggerEvent(msg, throwable, Level, threadName, date));
+    private static void recordEnqueue(long captured) {
+        if (Latencies.ENABLED) {
+            Latencies.record(Latencies.Stage.CALLER_ENQUEUE, System.nanoTime() - captured);
+        }
     }
 
-    private void triggerEvent(Message msg, Throwable throwable, Level Level, String threadName, OffsetDateTime date) {
-        Events.SINGLETON.handleEvent(EventFactory.getDefaultInstance(throwable, threadName, Level, msg, date, this));
+    private void newLiteralEvent(String msg, Throwable throwable, Level level) {
+        if (!Config.SINGLETON.isGarbageFree()) {
+            newEvent(MsgFactory.getDefaultInstance(msg), throwable, level);
+            return;
+        }
+        long captured = Latencies.ENABLED ? System.nanoTime() : 0L;
+        var events = Events.SINGLETON;
+        long sequence = events.claim(level);
+        if (sequence == Events.DROPPED) {
+            return;
+        }
+        try {
+            events.mutableEvent(sequence).setLiteral(this, level, throwable, msg);
+        } finally {
+            events.publish(sequence, captured);
+        }
+        recordEnqueue(captured);
+    }
+
+    private void newFormatEvent(String format, int count, Object arg1, Object arg2, Object arg3, Level level) {
+        if (!Config.SINGLETON.isGarbageFree()) {
+            var msg = switch (count) {
+                case 1 -> MsgFactory.getDefaultInstance(format, arg1);
+                case 2 -> MsgFactory.getDefaultInstance(format, arg1, arg2);
+                default -> MsgFactory.getDefaultInstance(format, arg1, arg2, arg3);
+            };
+            newEvent(msg, NULL_THROWABLE, level);
+            return;
+        }
+        long captured = Latencies.ENABLED ? System.nanoTime() : 0L;
+        var events = Events.SINGLETON;
+        long sequence = events.claim(level);
+        if (sequence == Events.DROPPED) {
+            return;
+        }
+        try {
+            events.mutableEvent(sequence).setFormat(this, level, NULL_THROWABLE, format, count, arg1, arg2, arg3);
+        } finally {
+            events.publish(sequence, captured);
+        }
+        recordEnqueue(captured);
+    }
+
+    private void newFormatEvent(String format, Object[] args, Level level) {
+        if (!Config.SINGLETON.isGarbageFree() || args == null || args.length > MutableEvent.MAX_PARAMETERS) {
+            newEvent(MsgFactory.getDefaultInstance(format, args), NULL_THROWABLE, level);
+            return;
+        }
+        long captured = Latencies.ENABLED ? System.nanoTime() : 0L;
+        var events = Events.SINGLETON;
+        long sequence = events.claim(level);
+        if (sequence == Events.DROPPED) {
+            return;
+        }
+        try {
+            events.mutableEvent(sequence).setFormat(this, level, NULL_THROWABLE, format, args);
+        } finally {
+            events.publish(sequence, captured);
+        }
+        recordEnqueue(captured);
+    }
+
+    private void triggerEvent(Message msg, Throwable throwable, Level Level, String threadName, long epochNanos,
+            long captured) {
+        Events.SINGLETON.handleEvent(EventFactory.getDefaultInstance(throwable, threadName, Level, msg, epochNanos,
+                this), captured);
     }
 
     @Override
     public void trace(String msg) {
-        newEvent(MsgFactory.getDefaultInstance(msg), NULL_THROWABLE, Level.TRACE);
+        if (isEnabled(Level.TRACE))
+            newLiteralEvent(msg, NULL_THROWABLE, Level.TRACE);
     }
 
     @Override
     public void trace(Message msg) {
-        newEvent(msg, NULL_THROWABLE, Level.TRACE);
+        if (isEnabled(Level.TRACE))
+            newEvent(msg, NULL_THROWABLE, Level.TRACE);
     }
 
     @Override
     public void trace(Throwable t) {
-        newEvent(MsgFactory.getDefaultInstance(""), t, Level.TRACE);
+        if (isEnabled(Level.TRACE))
+            newLiteralEvent("", t, Level.TRACE);
+    }
+
+    @Override
+    public void trace(String msg, Throwable t) {
+        if (isEnabled(Level.TRACE))
+            newLiteralEvent(msg, t, Level.TRACE);
+    }
+
+    @Override
+    public void trace(String format, Object arg) {
+        if (isEnabled(Level.TRACE))
+            newFormatEvent(format, 1, arg, null, null, Level.TRACE);
+    }
+
+    @Override
+    public void trace(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.TRACE))
+            newFormatEvent(format, 2, arg1, arg2, null, Level.TRACE);
+    }
+
+    @Override
+    public void trace(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.TRACE))
+            newFormatEvent(format, 3, arg1, arg2, arg3, Level.TRACE);
+    }
+
+    @Override
+    public void trace(String format, Object... args) {
+        if (isEnabled(Level.TRACE))
+            newFormatEvent(format, args, Level.TRACE);
+    }
+
+    @Override
+    public void trace(Supplier<Message> msgSupplier) {
+        if (isEnabled(Level.TRACE))
+            newEvent(MsgFactory.getLazyInstance(msgSupplier), NULL_THROWABLE, Level.TRACE);
     }
 
     @Override
     public void debug(String msg) {
-        newEvent(MsgFactory.getDefaultInstance(msg), NULL_THROWABLE, Level.DEBUG);
+        if (isEnabled(Level.DEBUG))
+            newLiteralEvent(msg, NULL_THROWABLE, Level.DEBUG);
     }
 
     @Override
     public void debug(Message msg) {
-        newEvent(msg, NULL_THROWABLE, Level.DEBUG);
+        if (isEnabled(Level.DEBUG))
+            newEvent(msg, NULL_THROWABLE, Level.DEBUG);
     }
 
     @Override
     public void debug(Throwable t) {
-        newEvent(MsgFactory.getDefaultInstance(""), t, Level.DEBUG);
+        if (isEnabled(Level.DEBUG))
+            newLiteralEvent("", t, Level.DEBUG);
+    }
+
+    @Override
+    public void debug(String msg, Throwable t) {
+        if (isEnabled(Level.DEBUG))
+            newLiteralEvent(msg, t, Level.DEBUG);
+    }
+
+    @Override
+    public void debug(String format, Object arg) {
+        if (isEnabled(Level.DEBUG))
+            newFormatEvent(format, 1, arg, null, null, Level.DEBUG);
+    }
+
+    @Override
+    public void debug(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG))
+            newFormatEvent(format, 2, arg1, arg2, null, Level.DEBUG);
+    }
+
+    @Override
+    public void debug(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.DEBUG))
+            newFormatEvent(format, 3, arg1, arg2, arg3, Level.DEBUG);
+    }
+
+    @Override
+    public void debug(String format, Object... args) {
+        if (isEnabled(Level.DEBUG))
+            newFormatEvent(format, args, Level.DEBUG);
+    }
+
+    @Override
+    public void debug(Supplier<Message> msgSupplier) {
+        if (isEnabled(Level.DEBUG))
+            newEvent(MsgFactory.getLazyInstance(msgSupplier), NULL_THROWABLE, Level.DEBUG);
     }
 
     @Override
     public void info(String msg) {
-        newEvent(MsgFactory.getDefaultInstance(msg), NULL_THROWABLE, Level.INFO);
+        if (isEnabled(Level.INFO))
+            newLiteralEvent(msg, NULL_THROWABLE, Level.INFO);
     }
 
     @Override
     public void info(Message msg) {
-        newEvent(msg, null, Level.INFO);
+        if (isEnabled(Level.INFO))
+            newEvent(msg, null, Level.INFO);
     }
 
     @Override
     public void info(Throwable t) {
-        newEvent(MsgFactory.getDefaultInstance(""), t, Level.INFO);
+        if (isEnabled(Level.INFO))
+            newLiteralEvent("", t, Level.INFO);
+    }
+
+    @Override
+    public void info(String msg, Throwable t) {
+        if (isEnabled(Level.INFO))
+            newLiteralEvent(msg, t, Level.INFO);
+    }
+
+    @Override
+    public void info(String format, Object arg) {
+        if (isEnabled(Level.INFO))
+            newFormatEvent(format, 1, arg, null, null, Level.INFO);
+    }
+
+    @Override
+    public void info(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO))
+            newFormatEvent(format, 2, arg1, arg2, null, Level.INFO);
+    }
+
+    @Override
+    public void info(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.INFO))
+            newFormatEvent(format, 3, arg1, arg2, arg3, Level.INFO);
+    }
+
+    @Override
+    public void info(String format, Object... args) {
+        if (isEnabled(Level.INFO))
+            newFormatEvent(format, args, Level.INFO);
+    }
+
+    @Override
+    public void info(Supplier<Message> msgSupplier) {
+        if (isEnabled(Level.INFO))
+            newEvent(MsgFactory.getLazyInstance(msgSupplier), NULL_THROWABLE, Level.INFO);
     }
 
     @Override
     public void warn(String msg) {
-        newEvent(MsgFactory.getDefaultInstance(msg), NULL_THROWABLE, Level.WARN);
+        if (isEnabled(Level.WARN))
+            newLiteralEvent(msg, NULL_THROWABLE, Level.WARN);
     }
 
     @Override
     public void warn(Message msg) {
-        newEvent(msg, NULL_THROWABLE, Level.WARN);
+        if (isEnabled(Level.WARN))
+            newEvent(msg, NULL_THROWABLE, Level.WARN);
     }
 
     @Override
     public void warn(Throwable t) {
-        newEvent(MsgFactory.getDefaultInstance(""), t, Level.WARN);
+        if (isEnabled(Level.WARN))
+            newLiteralEvent("", t, Level.WARN);
+    }
+
+    @Override
+    public void warn(String msg, Throwable t) {
+        if (isEnabled(Level.WARN))
+            newLiteralEvent(msg, t, Level.WARN);
+    }
+
+    @Override
+    public void warn(String format, Object arg) {
+        if (isEnabled(Level.WARN))
+            newFormatEvent(format, 1, arg, null, null, Level.WARN);
+    }
+
+    @Override
+    public void warn(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN))
+            newFormatEvent(format, 2, arg1, arg2, null, Level.WARN);
+    }
+
+    @Override
+    public void warn(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.WARN))
+            newFormatEvent(format, 3, arg1, arg2, arg3, Level.WARN);
+    }
+
+    @Override
+    public void warn(String format, Object... args) {
+        if (isEnabled(Level.WARN))
+            newFormatEvent(format, args, Level.WARN);
+    }
+
+    @Override
+    public void warn(Supplier<Message> msgSupplier) {
+        if (isEnabled(Level.WARN))
+            newEvent(MsgFactory.getLazyInstance(msgSupplier), NULL_THROWABLE, Level.WARN);
     }
 
     @Override
     public void error(String msg) {
-        newEvent(MsgFactory.getDefaultInstance(msg), NULL_THROWABLE, Level.ERROR);
+        if (isEnabled(Level.ERROR))
+            newLiteralEvent(msg, NULL_THROWABLE, Level.ERROR);
     }
 
     @Override
     public void error(Message msg) {
-        newEvent(msg, NULL_THROWABLE, Level.ERROR);
+        if (isEnabled(Level.ERROR))
+            newEvent(msg, NULL_THROWABLE, Level.ERROR);
     }
 
     @Override
     public void error(Throwable t) {
-        newEvent(MsgFactory.getDefaultInstance(""), t, Level.ERROR);
+        if (isEnabled(Level.ERROR))
+            newLiteralEvent("", t, Level.ERROR);
+    }
+
+    @Override
+    public void error(String msg, Throwable t) {
+        if (isEnabled(Level.ERROR))
+            newLiteralEvent(msg, t, Level.ERROR);
+    }
+
+    @Override
+    public void error(String format, Object arg) {
+        if (isEnabled(Level.ERROR))
+            newFormatEvent(format, 1, arg, null, null, Level.ERROR);
+    }
+
+    @Override
+    public void error(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR))
+            newFormatEvent(format, 2, arg1, arg2, null, Level.ERROR);
+    }
+
+    @Override
+    public void error(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.ERROR))
+            newFormatEvent(format, 3, arg1, arg2, arg3, Level.ERROR);
+    }
+
+    @Override
+    public void error(String format, Object... args) {
+        if (isEnabled(Level.ERROR))
+            newFormatEvent(format, args, Level.ERROR);
+    }
+
+    @Override
+    public void error(Supplier<Message> msgSupplier) {
+        if (isEnabled(Level.ERROR))
+            newEvent(MsgFactory.getLazyInstance(msgSupplier), NULL_THROWABLE, Level.ERROR);
     }
 
     @Override
     public void fatal(String msg) {
-        newEvent(MsgFactory.getDefaultInstance(msg), NULL_THROWABLE, Level.FATAL);
+        if (isEnabled(Level.FATAL))
+            newLiteralEvent(msg, NULL_THROWABLE, Level.FATAL);
     }
 
     @Override
     public void fatal(Message msg) {
-        newEvent(msg, NULL_THROWABLE, Level.FATAL);
+        if (isEnabled(Level.FATAL))
+            newEvent(msg, NULL_THROWABLE, Level.FATAL);
     }
 
     @Override
     public void fatal(Throwable t) {
-        newEvent(MsgFactory.getDefaultInstance(""), t, Level.FATAL);
+        if (isEnabled(Level.FATAL))
+            newLiteralEvent("", t, Level.FATAL);
+    }
+
+    @Override
+    public void fatal(String msg, Throwable t) {
+        if (isEnabled(Level.FATAL))
+            newLiteralEvent(msg, t, Level.FATAL);
+    }
+
+    @Override
+    public void fatal(String format, Object arg) {
+        if (isEnabled(Level.FATAL))
+            newFormatEvent(format, 1, arg, null, null, Level.FATAL);
+    }
+
+    @Override
+    public void fatal(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.FATAL))
+            newFormatEvent(format, 2, arg1, arg2, null, Level.FATAL);
+    }
+
+    @Override
+    public void fatal(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.FATAL))
+            newFormatEvent(format, 3, arg1, arg2, arg3, Level.FATAL);
+    }
+
+    @Override
+    public void fatal(String format, Object... args) {
+        if (isEnabled(Level.FATAL))
+            newFormatEvent(format, args, Level.FATAL);
+    }
+
+    @Override
+    public void fatal(Supplier<Message> msgSupplier) {
+        if (isEnabled(Level.FATAL))
+            newEvent(MsgFactory.getLazyInstance(msgSupplier), NULL_THROWABLE, Level.FATAL);
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
     }
 
     @Override
@@ -0,0 +1,252 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.loggers;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import simpleloglib.Appender;
+import simpleloglib.AppenderStats;
+import simpleloglib.Config;
+import simpleloglib.DroppedEvents;
+import simpleloglib.Level;
+import simpleloglib.executors.ExecutorFactory;
+
+/**
+ * Registers the pipeline and appender MBeans in the platform MBean server.
+ * Appender MBeans follow reloads: they are registered and unregistered as
+ * appenders come and go. Metrics are read from lock free counters, so
+ * monitoring never slows logging down.
+ * 
+ * @author lunalobos
+ */
+class MBeans {
+    private static final String DOMAIN = "simpleloglib";
+    private static final Set<String> appenders = new HashSet<>();
+
+    static void register() {
+        if (!Config.SINGLETON.isJmx()) {
+            return;
+        }
+        try {
+            if (!register(new ObjectName(DOMAIN + ":type=Pipeline"),
+                    new StandardMBean(new PipelineBean(), PipelineMXBean.class, true))) {
+                return;
+            }
+        } catch (JMException e) {
+            System.out.println("WARNING: could not register the pipeline MBean: " + e.getMessage());
+            return;
+        }
+        syncAppenders();
+        Config.SINGLETON.addListener(MBeans::syncAppenders);
+    }
+
+    /**
+     * Registers an MBean unless the name is taken, which happens when another
+     * copy of the library runs in the same JVM. That MBean is left alone.
+     * @return whether the MBean was registered
+     */
+    static boolean register(ObjectName name, Object mbean) throws JMException {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(name)) {
+            System.out.println("WARNING: MBean %s is already registered, skipping it".formatted(name));
+            return false;
+        }
+        server.registerMBean(mbean, name);
+        return true;
+    }
+
+    static ObjectName appenderName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=Appender,name=" + ObjectName.quote(name));
+    }
+
+    private static synchronized void syncAppenders() {
+        var current = new HashSet<String>();
+        for (var appender : Config.SINGLETON.getAppenders()) {
+            current.add(appender.name());
+        }
+        try {
+            for (var name : current) {
+                if (!appenders.contains(name) && register(appenderName(name),
+                        new StandardMBean(new AppenderBean(name), AppenderMXBean.class, true))) {
+                    appenders.add(name);
+                }
+            }
+            for (var name : new HashSet<>(appenders)) {
+                if (!current.contains(name)) {
+                    appenders.remove(name);
+                    ManagementFactory.getPlatformMBeanServer().unregisterMBean(appenderName(name));
+                }
+            }
+        } catch (JMException e) {
+            System.out.println("WARNING: could not register the appender MBeans: " + e.getMessage());
+        }
+    }
+
+    static Appender appender(String name) {
+        for (var appender : Config.SINGLETON.getAppenders()) {
+            if (appender.name().equals(name)) {
+                return appender;
+            }
+        }
+        return null;
+    }
+}
+
+class PipelineBean implements PipelineMXBean {
+
+    @Override
+    public long getQueueDepth() {
+        return Events.SINGLETON.queueDepth();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return Events.SINGLETON.queueCapacity();
+    }
+
+    @Override
+    public long getBatches() {
+        return Events.SINGLETON.batches();
+    }
+
+    @Override
+    public long getBatchedEvents() {
+        return Events.SINGLETON.batchedEvents();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        long batches = getBatches();
+        return batches == 0 ? 0.0 : (double) getBatchedEvents() / batches;
+    }
+
+    @Override
+    public int getLastBatchSize() {
+        return Events.SINGLETON.lastBatchSize();
+    }
+
+    @Override
+    public long getDroppedEvents() {
+        return DroppedEvents.total();
+    }
+
+    @Override
+    public int getThreadPoolActiveCount() {
+        return ExecutorFactory.getActiveCount(Config.SINGLETON.getThreadPool());
+    }
+
+    @Override
+    public int getThreadPoolQueuedCount() {
+        return ExecutorFactory.getQueuedCount(Config.SINGLETON.getThreadPool());
+    }
+
+    @Override
+    public Map<String, String> getLoggerLevels() {
+        var levels = new TreeMap<String, String>();
+        Config.SINGLETON.getPipeline().loggerLevels()
+                .forEach((name, level) -> levels.put(name.isEmpty() ? "root" : name, level.name()));
+        return levels;
+    }
+
+    @Override
+    public String getLevel(String loggerName) {
+        return Config.SINGLETON.getEffectiveLevel(loggerName).name();
+    }
+
+    @Override
+    public void setLevel(String loggerName, String level) {
+        Config.SINGLETON.setLoggerLevel(loggerName, Level.valueOf(level.toUpperCase()));
+    }
+
+    @Override
+    public void removeLevel(String loggerName) {
+        Config.SINGLETON.setLoggerLevel(loggerName, null);
+    }
+
+    @Override
+    public void flush() {
+        for (var appender : Config.SINGLETON.getAppenders()) {
+            appender.flush();
+        }
+    }
+}
+
+class AppenderBean implements AppenderMXBean {
+    private final String name;
+
+    AppenderBean(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getBatches() {
+        return AppenderStats.of(name).batches();
+    }
+
+    @Override
+    public long getEvents() {
+        return AppenderStats.of(name).events();
+    }
+
+    @Override
+    public long getAccepted() {
+        var appender = MBeans.appender(name);
+        return appender != null && appender.filter() != null ? appender.filter().accepted() : -1;
+    }
+
+    @Override
+    public long getRejected() {
+        var appender = MBeans.appender(name);
+        return appender != null && appender.filter() != null ? appender.filter().rejected() : -1;
+    }
+
+    @Override
+    public long getErrors() {
+        return AppenderStats.of(name).errors();
+    }
+
+    @Override
+    public String getLastError() {
+        return AppenderStats.of(name).lastError();
+    }
+
+    @Override
+    public String getFilter() {
+        var appender = MBeans.appender(name);
+        return appender != null ? String.valueOf(appender.filter()) : null;
+    }
+
+    @Override
+    public void flush() {
+        var appender = MBeans.appender(name);
+        if (appender != null) {
+            appender.flush();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.loggers;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+import simpleloglib.Config;
+import simpleloglib.Event;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.Message;
+import simpleloglib.events.EventFactory;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Reusable event owned by a ring buffer slot in garbage free mode. The caller
+ * thread copies the primitive timestamp, the format and up to
+ * {@link #MAX_PARAMETERS} parameters into it, and the event doubles as its own
+ * message so no other object is needed. The message is formatted once into a
+ * reused buffer, however many appenders ask for it. Instances are only valid
+ * until the consumer hands the slot back to the producers.
+ *
+ * @author lunalobos
+ */
+class MutableEvent implements Event, Message {
+    static final int MAX_PARAMETERS = 10;
+    private static final int LITERAL = -1;
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private Throwable throwable;
+    private String threadName;
+    private Level level;
+    private Logger logger;
+    private long epochNanos;
+    private Message message;
+    private String format;
+    private final Object[] parameters = new Object[MAX_PARAMETERS];
+    private int parameterCount;
+    private StringBuilder formatted = new StringBuilder(256);
+    private boolean isFormatted;
+
+    void set(Logger logger, Level level, Throwable throwable, Message message) {
+        capture(logger, level, throwable);
+        this.message = message;
+        this.format = null;
+        this.parameterCount = 0;
+    }
+
+    void setLiteral(Logger logger, Level level, Throwable throwable, String text) {
+        capture(logger, level, throwable);
+        this.message = null;
+        this.format = text;
+        this.parameterCount = LITERAL;
+    }
+
+    void setFormat(Logger logger, Level level, Throwable throwable, String format, int count, Object arg1,
+            Object arg2, Object arg3) {
+        capture(logger, level, throwable);
+        this.message = null;
+        this.format = format;
+        this.parameterCount = count;
+        parameters[0] = arg1;
+        parameters[1] = arg2;
+        parameters[2] = arg3;
+    }
+
+    void setFormat(Logger logger, Level level, Throwable throwable, String format, Object[] args) {
+        capture(logger, level, throwable);
+        this.message = null;
+        this.format = format;
+        this.parameterCount = args.length;
+        System.arraycopy(args, 0, parameters, 0, args.length);
+    }
+
+    private void capture(Logger logger, Level level, Throwable throwable) {
+        this.logger = logger;
+        this.level = level;
+        this.throwable = throwable;
+        this.threadName = Thread.currentThread().getName();
+        this.epochNanos = Config.SINGLETON.getClock().epochNanos();
+        this.isFormatted = false;
+    }
+
+    /**
+     * Drops every reference so the slot does not keep garbage reachable.
+     */
+    void clear() {
+        throwable = null;
+        message = null;
+        format = null;
+        for (int i = 0; i < MAX_PARAMETERS; i++) {
+            parameters[i] = null;
+        }
+        if (formatted.capacity() > MAX_RETAINED_CAPACITY) {
+            formatted = new StringBuilder(256);
+        }
+    }
+
+    @Override
+    public Throwable throwable() {
+        return throwable;
+    }
+
+    @Override
+    public String threadName() {
+        return threadName;
+    }
+
+    @Override
+    public Level level() {
+        return level;
+    }
+
+    @Override
+    public Message message() {
+        return message != null ? message : this;
+    }
+
+    @Override
+    public OffsetDateTime timestamp() {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), ZoneId.systemDefault());
+    }
+
+    @Override
+    public ZoneOffset offset() {
+        return null;
+    }
+
+    @Override
+    public long epochMillis() {
+        return Math.floorDiv(epochNanos, 1_000_000L);
+    }
+
+    @Override
+    public int nanoOfMillisecond() {
+        return (int) Math.floorMod(epochNanos, 1_000_000L);
+    }
+
+    @Override
+    public Logger logger() {
+        return logger;
+    }
+
+    @Override
+    public Event toImmutable() {
+        Message copy;
+        if (message != null) {
+            copy = message;
+        } else if (parameterCount == LITERAL) {
+            copy = MsgFactory.getDefaultInstance(format);
+        } else if (hasOnlyValues()) {
+            copy = MsgFactory.getDefaultInstance(format, Arrays.copyOf(parameters, parameterCount));
+        } else {
+            copy = MsgFactory.getDefaultInstance(getFormattedMessage());
+        }
+        return EventFactory.getDefaultInstance(throwable, threadName, level, copy, epochNanos, logger);
+    }
+
+    /**
+     * Whether the parameters can outlive the slot unformatted. Any other object
+     * may be reused by a garbage free caller, so it is formatted right away.
+     */
+    private boolean hasOnlyValues() {
+        for (int i = 0; i < parameterCount; i++) {
+            if (!MsgFactory.isValue(parameters[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        var buffer = new StringBuilder();
+        formatTo(buffer);
+        return buffer.toString();
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        if (parameterCount == LITERAL) {
+            buffer.append(format);
+            return;
+        }
+        if (!isFormatted) {
+            formatted.setLength(0);
+            MsgFactory.formatTo(formatted, format, parameters, parameterCount);
+            isFormatted = true;
+        }
+        buffer.append(formatted);
+    }
+
+    @Override
+    public String getFormat() {
+        return parameterCount == LITERAL ? null : format;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return Math.max(parameterCount, 0);
+    }
+
+    @Override
+    public Object getParameter(int index) {
+        return parameters[Objects.checkIndex(index, getParameterCount())];
+    }
+
+    @Override
+    public String toString() {
+        return "MutableEvent(level = %s, logger = %s, threadName = %s)".formatted(level, logger, threadName);
+    }
+}
@@ -0,0 +1,89 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.loggers;
+
+import java.util.Map;
+
+/**
+ * Live metrics of the logging pipeline and runtime control of the logger
+ * levels, registered as {@code simpleloglib:type=Pipeline}.
+ * 
+ * @author lunalobos
+ */
+public interface PipelineMXBean {
+
+    /**
+     * Get the number of events waiting in the event buffer.
+     * @return the queue depth
+     */
+    long getQueueDepth();
+
+    int getQueueCapacity();
+
+    /**
+     * Get the number of batches pushed to the appenders.
+     * @return the number of batches
+     */
+    long getBatches();
+
+    long getBatchedEvents();
+
+    double getAverageBatchSize();
+
+    int getLastBatchSize();
+
+    /**
+     * Get the number of events dropped by the overflow policies.
+     * @return the number of dropped events
+     */
+    long getDroppedEvents();
+
+    int getThreadPoolActiveCount();
+
+    int getThreadPoolQueuedCount();
+
+    /**
+     * Get the configured levels by logger name prefix.
+     * @return the levels
+     */
+    Map<String, String> getLoggerLevels();
+
+    /**
+     * Get the level a logger currently uses.
+     * @param loggerName
+     * @return the effective level
+     */
+    String getLevel(String loggerName);
+
+    /**
+     * Sets the level of a logger name prefix, or of every logger with root,
+     * until the next reload.
+     * @param loggerName
+     * @param level
+     */
+    void setLevel(String loggerName, String level);
+
+    /**
+     * Removes the level set for a logger name prefix, so it inherits again.
+     * @param loggerName
+     */
+    void removeLevel(String loggerName);
+
+    /**
+     * Flushes every appender.
+     */
+    void flush();
+}
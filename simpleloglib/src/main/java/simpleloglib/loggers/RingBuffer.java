@@ -0,0 +1,249 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.loggers;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded multi-producer/single-consumer ring buffer in the style of the LMAX
+ * Disruptor. Slots are preallocated once and reused. Producers claim a
+ * sequence with {@link #next()}, fill the slot returned by {@link #get(long)}
+ * and make it visible with {@link #publish(long)}. No lock is taken and no
+ * node is allocated per entry.
+ *
+ * <p>
+ * The consumer takes published entries with {@link #claim(long, long)} and
+ * hands their slots back with {@link #release(long)}. A producer finding the
+ * buffer full may {@link #evict(Function)} the oldest entry instead, which is
+ * why the consumer claims with a compare and set.
+ *
+ * @author lunalobos
+ */
+class RingBuffer<E> {
+
+    private final int mask;
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final Sequence cursor = new Sequence(-1L);
+    private final Sequence claimed = new Sequence(-1L);
+    private final Sequence consumed = new Sequence(-1L);
+
+    public RingBuffer(int capacity, Supplier<E> factory) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.entries = new Object[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            entries[i] = factory.get();
+            published.set(i, -1L);
+        }
+    }
+
+    /**
+     * Claims the next sequence, waiting while the buffer is full.
+     * @return the claimed sequence
+     */
+    public long next() {
+        long sequence = cursor.getAndIncrement() + 1;
+        long wrapPoint = sequence - entries.length;
+        while (wrapPoint > consumed.get()) {
+            LockSupport.parkNanos(1L);
+        }
+        return sequence;
+    }
+
+    /**
+     * Claims the next sequence only if there is room for it.
+     * @return the claimed sequence, or -1 if the buffer is full
+     */
+    public long tryNext() {
+        long current;
+        long sequence;
+        do {
+            current = cursor.get();
+            sequence = current + 1;
+            if (sequence - entries.length > consumed.get()) {
+                return -1L;
+            }
+        } while (!cursor.compareAndSet(current, sequence));
+        return sequence;
+    }
+
+    /**
+     * Gets the slot bound to a sequence.
+     * @param sequence
+     * @return the preallocated slot
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /**
+     * Makes a claimed and filled slot visible to the consumer.
+     * @param sequence
+     */
+    public void publish(long sequence) {
+        published.set((int) sequence & mask, sequence);
+    }
+
+    /**
+     * Consumer side check for a published slot.
+     * @param sequence
+     * @return true if the slot has been published
+     */
+    public boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == sequence;
+    }
+
+    /**
+     * The last sequence taken by the consumer or evicted.
+     * @return the claimed sequence
+     */
+    public long claimed() {
+        return claimed.get();
+    }
+
+    /**
+     * Consumer side claim of every entry after {@code expected} up to the given
+     * sequence.
+     * @param expected the claimed sequence the entries were read after
+     * @param sequence the last sequence to claim
+     * @return false if a producer evicted some of them in the meantime
+     */
+    public boolean claim(long expected, long sequence) {
+        return claimed.compareAndSet(expected, sequence);
+    }
+
+    /**
+     * The last sequence handed back to producers.
+     * @return the consumed sequence
+     */
+    public long consumed() {
+        return consumed.get();
+    }
+
+    /**
+     * Hands every slot up to the given sequence back to producers.
+     * @param sequence a claimed sequence
+     */
+    public void release(long sequence) {
+        long current;
+        do {
+            current = consumed.get();
+        } while (current < sequence && !consumed.compareAndSet(current, sequence));
+    }
+
+    /**
+     * Producer side eviction of the oldest published entry. The entry is read
+     * before it is claimed, since its slot may be reused as soon as it is
+     * released. Nothing is evicted while the consumer still holds slots, as
+     * that would not make room, or while the oldest entry is not published.
+     * The slot keeps its references until it is reused.
+     * @param reader reads what the caller needs from the evicted entry
+     * @return what the reader returned, or null if nothing was evicted
+     */
+    public <T> T evict(Function<E, T> reader) {
+        while (true) {
+            long current = claimed.get();
+            long sequence = current + 1;
+            if (consumed.get() != current || !isPublished(sequence)) {
+                return null;
+            }
+            T value = reader.apply(get(sequence));
+            if (claimed.compareAndSet(current, sequence)) {
+                release(sequence);
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Number of entries published but not yet released by the consumer.
+     * @return the number of pending entries
+     */
+    public long size() {
+        return cursor.get() - consumed.get();
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    @Override
+    public String toString() {
+        return "RingBuffer(capacity = %d, cursor = %d, claimed = %d, consumed = %d)".formatted(entries.length,
+                cursor.get(), claimed.get(), consumed.get());
+    }
+}
+
+class LhsPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class SequenceValue extends LhsPadding {
+    protected volatile long value;
+}
+
+class RhsPadding extends SequenceValue {
+    protected long p9, p10, p11, p12, p13, p14, p15;
+}
+
+/**
+ * A padded sequence counter, so the producer cursor and the consumer sequence
+ * never share a cache line.
+ */
+class Sequence extends RhsPadding {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public long getAndIncrement() {
+        return (long) VALUE.getAndAdd(this, 1L);
+    }
+
+    public boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
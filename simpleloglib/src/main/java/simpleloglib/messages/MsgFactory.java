@@ -15,6 +15,12 @@ limitations under the License.
 
 package simpleloglib.messages;
 
+import java.text.DecimalFormatSymbols;
+import java.util.Formattable;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
 import simpleloglib.Message;
 
 /**
@@ -23,14 +29,343 @@ import simpleloglib.Message;
  * @author lunalobos
  */
 public class MsgFactory {
+
+    /**
+     * Retrieves a {@link Message} that is logged as it is, without formatting.
+     * @param message
+     * @return a literal message
+     */
+    public static Message getDefaultInstance(String message) {
+        return new LiteralMessage(message);
+    }
+
+    /**
+     * Retrieves a {@link Message} formatted with {@link String#formatted(Object...)}
+     * only when an appender asks for it.
+     * @param format
+     * @param arg
+     * @return a lazily formatted message
+     */
+    public static Message getDefaultInstance(String format, Object arg) {
+        return new FixedArgsMessage(format, 1, arg, null, null);
+    }
+
+    public static Message getDefaultInstance(String format, Object arg1, Object arg2) {
+        return new FixedArgsMessage(format, 2, arg1, arg2, null);
+    }
+
+    public static Message getDefaultInstance(String format, Object arg1, Object arg2, Object arg3) {
+        return new FixedArgsMessage(format, 3, arg1, arg2, arg3);
+    }
+
     public static Message getDefaultInstance(String format, Object... args) {
         return new SimpleMessage(format, args);
     }
+
+    /**
+     * Retrieves a {@link Message} that calls the supplier only when an appender
+     * asks for the formatted message.
+     * @param supplier
+     * @return a lazily supplied message
+     */
+    public static Message getLazyInstance(Supplier<Message> supplier) {
+        return new SupplierMessage(supplier);
+    }
+
+    /**
+     * Formats like {@link String#formatted(Object...)} appending to the buffer.
+     * The {@code %s}, {@code %d}, {@code %n} and {@code %%} conversions with
+     * strings, boxed primitives or {@code null} are written straight into the
+     * buffer without allocating; anything else falls back to
+     * {@link String#formatted(Object...)}.
+     * @param buffer
+     * @param format
+     * @param args
+     * @param count the number of valid entries in args
+     */
+    public static void formatTo(StringBuilder buffer, String format, Object[] args, int count) {
+        ParameterFormatter.formatTo(buffer, format, args, null, null, null, count);
+    }
+
+    /**
+     * Checks whether a parameter is an immutable value, so it can be kept or
+     * stored as it is and formatted later with the same result.
+     * @param parameter
+     * @return true for null, strings, boxed primitives and characters
+     */
+    public static boolean isValue(Object parameter) {
+        return parameter == null || parameter instanceof String || parameter instanceof Integer
+                || parameter instanceof Long || parameter instanceof Double || parameter instanceof Boolean
+                || parameter instanceof Short || parameter instanceof Byte || parameter instanceof Float
+                || parameter instanceof Character;
+    }
+}
+
+/**
+ * Allocation free subset of {@link java.util.Formatter}.
+ */
+class ParameterFormatter {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final boolean ASCII_DIGITS = DecimalFormatSymbols
+            .getInstance(Locale.getDefault(Locale.Category.FORMAT)).getZeroDigit() == '0';
+
+    static void formatTo(StringBuilder buffer, String format, Object[] args, Object arg1, Object arg2,
+            Object arg3, int count) {
+        int start = buffer.length();
+        int next = 0;
+        int length = format.length();
+        for (int i = 0; i < length; i++) {
+            char c = format.charAt(i);
+            if (c != '%') {
+                buffer.append(c);
+                continue;
+            }
+            char conversion = i + 1 < length ? format.charAt(i + 1) : 0;
+            boolean done = switch (conversion) {
+                case '%' -> {
+                    buffer.append('%');
+                    yield true;
+                }
+                case 'n' -> {
+                    buffer.append(LINE_SEPARATOR);
+                    yield true;
+                }
+                case 's' -> next < count && appendString(buffer, arg(args, arg1, arg2, arg3, next++));
+                case 'd' -> next < count && appendInteger(buffer, arg(args, arg1, arg2, arg3, next++));
+                default -> false;
+            };
+            if (!done) {
+                buffer.setLength(start);
+                buffer.append(format.formatted(copy(args, arg1, arg2, arg3, count)));
+                return;
+            }
+            i++;
+        }
+    }
+
+    private static Object arg(Object[] args, Object arg1, Object arg2, Object arg3, int index) {
+        if (args != null) {
+            return args[index];
+        }
+        return switch (index) {
+            case 0 -> arg1;
+            case 1 -> arg2;
+            default -> arg3;
+        };
+    }
+
+    private static Object[] copy(Object[] args, Object arg1, Object arg2, Object arg3, int count) {
+        var copy = new Object[Math.max(count, 0)];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = arg(args, arg1, arg2, arg3, i);
+        }
+        return copy;
+    }
+
+    private static boolean appendString(StringBuilder buffer, Object arg) {
+        if (arg == null || arg instanceof String) {
+            buffer.append((String) arg);
+        } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+            buffer.append(((Number) arg).longValue());
+        } else if (arg instanceof Double d) {
+            buffer.append(d.doubleValue());
+        } else if (arg instanceof Float f) {
+            buffer.append(f.floatValue());
+        } else if (arg instanceof Boolean b) {
+            buffer.append(b.booleanValue());
+        } else if (arg instanceof Character ch) {
+            buffer.append(ch.charValue());
+        } else if (arg instanceof Formattable) {
+            return false;
+        } else {
+            buffer.append(arg);
+        }
+        return true;
+    }
+
+    private static boolean appendInteger(StringBuilder buffer, Object arg) {
+        if (!ASCII_DIGITS) {
+            return false;
+        }
+        if (arg == null) {
+            buffer.append("null");
+        } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+            buffer.append(((Number) arg).longValue());
+        } else {
+            return false;
+        }
+        return true;
+    }
 }
 
+class LiteralMessage implements Message {
+    private String message;
+
+    public LiteralMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        return message;
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        buffer.append(message);
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
+
+/**
+ * Holds up to three arguments in fields, so fixed arity logging calls do not
+ * allocate a varargs array on the caller thread. The first
+ * {@link #formatTo(StringBuilder)} formats straight into the buffer. The
+ * formatted message is only cached once it is asked for again, so a single
+ * appender costs no extra string.
+ */
+class FixedArgsMessage implements Message {
+    private String format;
+    private int count;
+    private Object arg1;
+    private Object arg2;
+    private Object arg3;
+    private String formatted;
+    private boolean formattedBefore;
+
+    public FixedArgsMessage(String format, int count, Object arg1, Object arg2, Object arg3) {
+        this.format = format;
+        this.count = count;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.arg3 = arg3;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        var formatted = this.formatted;
+        if (formatted == null) {
+            formatted = switch (count) {
+                case 1 -> format.formatted(arg1);
+                case 2 -> format.formatted(arg1, arg2);
+                default -> format.formatted(arg1, arg2, arg3);
+            };
+            this.formatted = formatted;
+        }
+        return formatted;
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        var formatted = this.formatted;
+        if (formatted != null) {
+            buffer.append(formatted);
+            return;
+        }
+        int start = buffer.length();
+        ParameterFormatter.formatTo(buffer, format, null, arg1, arg2, arg3, count);
+        if (formattedBefore) {
+            this.formatted = buffer.substring(start);
+        }
+        formattedBefore = true;
+    }
+
+    @Override
+    public String getFormat() {
+        return format;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return count;
+    }
+
+    @Override
+    public Object getParameter(int index) {
+        return switch (Objects.checkIndex(index, count)) {
+            case 0 -> arg1;
+            case 1 -> arg2;
+            default -> arg3;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return getFormattedMessage();
+    }
+}
+
+class SupplierMessage implements Message {
+    private Supplier<Message> supplier;
+    private Message message;
+
+    public SupplierMessage(Supplier<Message> supplier) {
+        this.supplier = supplier;
+    }
+
+    private Message message() {
+        if (message == null) {
+            message = supplier.get();
+        }
+        return message;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        var message = message();
+        return message == null ? "null" : message.getFormattedMessage();
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        var message = message();
+        if (message == null) {
+            buffer.append("null");
+        } else {
+            message.formatTo(buffer);
+        }
+    }
+
+    @Override
+    public String getFormat() {
+        var message = message();
+        return message == null ? null : message.getFormat();
+    }
+
+    @Override
+    public int getParameterCount() {
+        var message = message();
+        return message == null ? 0 : message.getParameterCount();
+    }
+
+    @Override
+    public Object getParameter(int index) {
+        var message = message();
+        if (message == null) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return message.getParameter(index);
+    }
+
+    @Override
+    public String toString() {
+        return getFormattedMessage();
+    }
+}
+
+/**
+ * A message with any number of arguments. Like {@link FixedArgsMessage} it
+ * caches the formatted message once it is asked for twice.
+ */
 class SimpleMessage implements Message {
     private String format;
     private Object[] args;
+    private String formatted;
+    private boolean formattedBefore;
 
     public SimpleMessage(String format, Object[] args) {
         this.format = format;
@@ -38,7 +373,42 @@ class SimpleMessage implements Message {
     }
     @Override
     public String getFormattedMessage() {
-        return format.formatted(args);
+        var formatted = this.formatted;
+        if (formatted == null) {
+            formatted = format.formatted(args);
+            this.formatted = formatted;
+        }
+        return formatted;
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        var formatted = this.formatted;
+        if (formatted != null) {
+            buffer.append(formatted);
+            return;
+        }
+        int start = buffer.length();
+        ParameterFormatter.formatTo(buffer, format, args, null, null, null, getParameterCount());
+        if (formattedBefore) {
+            this.formatted = buffer.substring(start);
+        }
+        formattedBefore = true;
+    }
+
+    @Override
+    public String getFormat() {
+        return format;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return args == null ? 0 : args.length;
+    }
+
+    @Override
+    public Object getParameter(int index) {
+        return args[Objects.checkIndex(index, getParameterCount())];
     }
 
     @Override
@@ -0,0 +1,95 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test appender that records the message, throwable and appending thread of
+ * every event it gets. A stalled one blocks on its first batch until
+ * {@link #resume} is counted down.
+ */
+public class CapturingAppender implements Appender {
+    public static final long TIMEOUT_SECONDS = 10;
+
+    public final CountDownLatch entered = new CountDownLatch(1);
+    public final CountDownLatch resume;
+    public final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+    public final List<Throwable> throwables = Collections.synchronizedList(new ArrayList<>());
+    public final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+    private final String name;
+
+    public CapturingAppender(String name) {
+        this(name, false);
+    }
+
+    private CapturingAppender(String name, boolean stalled) {
+        this.name = name;
+        this.resume = new CountDownLatch(stalled ? 1 : 0);
+    }
+
+    public static CapturingAppender stalled() {
+        return new CapturingAppender("stalled", true);
+    }
+
+    /**
+     * Waits until at least the given number of events has been appended.
+     * @param count
+     * @throws InterruptedException
+     */
+    public void await(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (messages.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void append(Event event, Layout layout) {
+        append(List.of(event), layout);
+    }
+
+    @Override
+    public void append(Collection<Event> events, Layout layout) {
+        entered.countDown();
+        try {
+            resume.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (var event : events) {
+            // keeps the three lists aligned when several threads append
+            synchronized (messages) {
+                messages.add(event.message().getFormattedMessage());
+                throwables.add(event.throwable());
+                threads.add(Thread.currentThread().getName());
+            }
+        }
+    }
+
+    @Override
+    public void setFilter(Filter filter) {
+    }
+}
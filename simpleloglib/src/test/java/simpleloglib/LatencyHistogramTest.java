@@ -0,0 +1,55 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    private void assertClose(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 64 + 1, "expected about %d but was %d"
+                .formatted(expected, actual));
+    }
+
+    @Test
+    public void percentiles() {
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+        var snapshot = histogram.snapshot();
+        assertEquals(1_000_000, snapshot.count());
+        assertClose(500_000, snapshot.p50());
+        assertClose(990_000, snapshot.p99());
+        assertClose(999_000, snapshot.p999());
+        assertClose(1_000_000, snapshot.max());
+    }
+
+    @Test
+    public void bucketsCoverTheRange() {
+        long previous = -1;
+        for (int index = 0; index < LatencyHistogram.BUCKETS; index++) {
+            long highest = LatencyHistogram.highestValue(index);
+            assertEquals(index, LatencyHistogram.index(highest));
+            assertEquals(index, LatencyHistogram.index(previous + 1));
+            previous = highest;
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+        assertEquals(0, LatencyHistogram.index(-5));
+    }
+}
@@ -0,0 +1,81 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import simpleloglib.loggers.LogManager;
+
+public class LoggerLevelTest {
+    private Level rootLevel;
+
+    @BeforeEach
+    public void saveRootLevel() {
+        rootLevel = Config.SINGLETON.getPipeline().loggerLevels().get("");
+    }
+
+    @AfterEach
+    public void restoreLevels() {
+        Config.SINGLETON.setLoggerLevel("com.acme", null);
+        Config.SINGLETON.setLoggerLevel("com.acme.db", null);
+        Config.SINGLETON.setLoggerLevel("root", rootLevel);
+    }
+
+    @Test
+    public void mostSpecificPrefixWins() {
+        Config.SINGLETON.setLoggerLevel("root", Level.TRACE);
+        Config.SINGLETON.setLoggerLevel("com.acme", Level.WARN);
+        Config.SINGLETON.setLoggerLevel("com.acme.db", Level.DEBUG);
+        var parent = LogManager.getLogger("com.acme");
+        var child = LogManager.getLogger("com.acme.db.Pool");
+        var sibling = LogManager.getLogger("com.acme.dbx");
+        var other = LogManager.getLogger("org.other.Service");
+
+        assertTrue(parent.isEnabled(Level.WARN));
+        assertFalse(parent.isEnabled(Level.INFO));
+        assertTrue(child.isEnabled(Level.DEBUG));
+        assertFalse(child.isEnabled(Level.TRACE));
+        // com.acme.db is not a prefix of com.acme.dbx, so it gets com.acme
+        assertTrue(sibling.isEnabled(Level.WARN));
+        assertFalse(sibling.isEnabled(Level.INFO));
+        assertTrue(other.isEnabled(Level.TRACE));
+    }
+
+    @Test
+    public void existingLoggersFollowRuntimeChanges() {
+        Config.SINGLETON.setLoggerLevel("root", Level.TRACE);
+        Config.SINGLETON.setLoggerLevel("com.acme", Level.WARN);
+        Config.SINGLETON.setLoggerLevel("com.acme.db", Level.DEBUG);
+        var parent = LogManager.getLogger("com.acme.Service");
+        var child = LogManager.getLogger("com.acme.db.Pool");
+        var other = LogManager.getLogger("org.other.Service");
+        assertTrue(child.isEnabled(Level.DEBUG));
+
+        Config.SINGLETON.setLoggerLevel("com.acme.db", null);
+        assertFalse(child.isEnabled(Level.DEBUG));
+        assertTrue(child.isEnabled(Level.WARN));
+
+        Config.SINGLETON.setLoggerLevel("root", Level.ERROR);
+        assertFalse(other.isEnabled(Level.WARN));
+        assertTrue(other.isEnabled(Level.ERROR));
+        assertTrue(parent.isEnabled(Level.WARN));
+        assertFalse(parent.isEnabled(Level.INFO));
+    }
+}
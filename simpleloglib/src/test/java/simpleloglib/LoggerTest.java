@@ -0,0 +1,160 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class LoggerTest {
+    private static final Logger LOGGER = LogManager.getLogger(LoggerTest.class);
+
+    private Collection<Appender> previousAppenders;
+    private ExecutorService previousThreadPool;
+    private ThreadPoolExecutor threadPool;
+    private CapturingAppender appender;
+
+    @BeforeEach
+    public void capture() {
+        previousAppenders = Config.SINGLETON.getAppenders();
+        previousThreadPool = Config.SINGLETON.getThreadPool();
+        // other tests may have shut the configured pool down
+        threadPool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        Config.SINGLETON.setThreadPool(threadPool);
+        appender = new CapturingAppender("capturing");
+        Config.SINGLETON.setAppenders(List.of(appender));
+    }
+
+    @AfterEach
+    public void restore() {
+        Config.SINGLETON.setAppenders(previousAppenders);
+        Config.SINGLETON.setThreadPool(previousThreadPool);
+        threadPool.shutdownNow();
+        Config.SINGLETON.setDirectHandoff(false);
+        Config.SINGLETON.setLoggerLevel("simpleloglib.quiet", null);
+    }
+
+    @Test
+    public void overloadsBuildTheExpectedEvents() throws InterruptedException {
+        var failure = new IllegalStateException("failure");
+        LOGGER.info("one %d", 1);
+        LOGGER.info("three %s %s %s", "a", 'b', 3L);
+        LOGGER.info("%s-%s-%s-%s", 1, 2, 3, 4);
+        LOGGER.error("failed", failure);
+        appender.await(4);
+
+        assertEquals(List.of("one 1", "three a b 3", "1-2-3-4", "failed"), appender.messages);
+        assertSame(failure, appender.throwables.get(3));
+        for (var throwable : appender.throwables.subList(0, 3)) {
+            assertEquals("", String.valueOf(throwable));
+        }
+    }
+
+    @Test
+    public void disabledLevelsNeitherSupplyNorFormat() throws InterruptedException {
+        Config.SINGLETON.setLoggerLevel("simpleloglib.quiet", Level.INFO);
+        var quiet = LogManager.getLogger("simpleloglib.quiet");
+        var supplied = new AtomicBoolean();
+        var formatted = new AtomicBoolean();
+        var argument = new Object() {
+            @Override
+            public String toString() {
+                formatted.set(true);
+                return "argument";
+            }
+        };
+        quiet.debug(() -> {
+            supplied.set(true);
+            return MsgFactory.getDefaultInstance("supplied");
+        });
+        quiet.debug("%s", argument);
+        quiet.debug("%s %s %s %s", argument, argument, argument, argument);
+        quiet.info("last");
+        appender.await(1);
+
+        assertFalse(supplied.get());
+        assertFalse(formatted.get());
+        assertEquals(List.of("last"), appender.messages);
+    }
+
+    @Test
+    public void plainStringsKeepPercentSigns() throws InterruptedException {
+        LOGGER.info("100% sure, %s and %d stay");
+        LOGGER.warn("50%", new RuntimeException("cause"));
+        appender.await(2);
+
+        assertEquals(List.of("100% sure, %s and %d stay", "50%"), appender.messages);
+        assertTrue(appender.throwables.get(1) instanceof RuntimeException);
+    }
+
+    @Test
+    public void concurrentLookupsShareOneLogger() throws Exception {
+        int threads = 32;
+        var start = new CountDownLatch(1);
+        var lookups = Executors.newFixedThreadPool(threads);
+        try {
+            var loggers = new ArrayList<Future<Logger>>();
+            for (int i = 0; i < threads; i++) {
+                loggers.add(lookups.submit(() -> {
+                    start.await();
+                    return LogManager.getLogger("simpleloglib.concurrent");
+                }));
+            }
+            start.countDown();
+            var first = loggers.get(0).get();
+            for (var logger : loggers) {
+                assertSame(first, logger.get());
+            }
+        } finally {
+            lookups.shutdownNow();
+        }
+
+        assertSame(LogManager.getLogger(LoggerTest.class), LogManager.getLogger(LoggerTest.class.getName()));
+    }
+
+    @Test
+    public void directHandoffSkipsTheThreadPool() throws InterruptedException {
+        Config.SINGLETON.setDirectHandoff(true);
+        var expected = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            LOGGER.info("direct %d", i);
+            expected.add("direct " + i);
+        }
+        appender.await(expected.size());
+
+        assertEquals(expected, appender.messages);
+        assertEquals(0, threadPool.getTaskCount());
+    }
+}
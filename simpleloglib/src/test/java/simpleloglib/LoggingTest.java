@@ -18,6 +18,7 @@ package simpleloglib;
 import org.junit.jupiter.api.Test;
 
 import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
 
 public class LoggingTest {
     private static final Logger LOGGER = LogManager.getLogger(LoggingTest.class);
@@ -32,6 +33,8 @@ public class LoggingTest {
              LOGGER.warn("Hello warn!");
              LOGGER.error("Hello error!");
              LOGGER.fatal("Hello fatal!");
+             LOGGER.info("Hello %s number %d!", "parameterized", i);
+             LOGGER.warn(() -> MsgFactory.getDefaultInstance("Hello %s!", "supplier"));
         } try {
             
             Config.SINGLETON.shutdown();
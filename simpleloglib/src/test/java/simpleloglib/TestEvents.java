@@ -0,0 +1,55 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import simpleloglib.events.EventFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+/**
+ * Numbered events for tests that check which events got through and in which
+ * order.
+ */
+public class TestEvents {
+    private static final Logger LOGGER = LogManager.getLogger(TestEvents.class);
+
+    private TestEvents() {
+    }
+
+    /**
+     * @param level
+     * @param index
+     * @return an event with the message {@code event <index>}
+     */
+    public static Event event(Level level, int index) {
+        return EventFactory.getDefaultInstance(null, "main", level, MsgFactory.getDefaultInstance("event %s", index),
+                0L, LOGGER);
+    }
+
+    /**
+     * @param indexes
+     * @return the messages of the events with the given indexes
+     */
+    public static List<String> messages(int... indexes) {
+        var messages = new ArrayList<String>();
+        for (int index : indexes) {
+            messages.add("event " + index);
+        }
+        return messages;
+    }
+}
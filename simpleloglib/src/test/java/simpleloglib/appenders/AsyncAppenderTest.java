@@ -0,0 +1,68 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static simpleloglib.TestEvents.event;
+import static simpleloglib.TestEvents.messages;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import simpleloglib.CapturingAppender;
+import simpleloglib.DroppedEvents;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+
+public class AsyncAppenderTest {
+    private static final Layout LAYOUT = LayoutFactory.getDefaultInstance("%msg");
+
+    @Test
+    public void blockGivesUpOnAStalledWorker() throws InterruptedException {
+        var delegate = CapturingAppender.stalled();
+        var appender = AppenderFactory.getAsyncAppender(delegate, 2);
+        appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+        try {
+            appender.append(event(Level.INFO, 0), LAYOUT);
+            assertTrue(delegate.entered.await(CapturingAppender.TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            appender.append(event(Level.INFO, 1), LAYOUT);
+            appender.append(event(Level.INFO, 2), LAYOUT);
+
+            long dropped = DroppedEvents.total();
+            long start = System.nanoTime();
+            appender.append(event(Level.INFO, 3), LAYOUT);
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(waited >= 900 && waited < 5000, "waited " + waited + " ms");
+            start = System.nanoTime();
+            appender.append(event(Level.INFO, 4), LAYOUT);
+            waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(waited < 500, "a stalled worker is not waited for again, waited " + waited + " ms");
+            assertEquals(dropped + 2, DroppedEvents.total());
+
+            delegate.resume.countDown();
+            appender.flush();
+            appender.append(event(Level.INFO, 5), LAYOUT);
+            appender.flush();
+            assertEquals(messages(0, 1, 2, 5), delegate.messages);
+        } finally {
+            delegate.resume.countDown();
+            appender.close();
+        }
+    }
+}
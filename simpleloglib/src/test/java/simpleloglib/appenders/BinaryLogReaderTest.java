@@ -0,0 +1,142 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import simpleloglib.Appender;
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class BinaryLogReaderTest {
+    private static final Logger LOGGER = LogManager.getLogger(BinaryLogReaderTest.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void decodesToTheSameText() throws IOException {
+        Layout layout = LayoutFactory.getDefaultInstance("[%level] %date - %logger - %thread : %msg %throwable");
+        var binary = AppenderFactory.getBinaryFileAppender("binary",
+                FileAppenderConfig.builder().filePath(directory.resolve("app.slog").toString()).build());
+        var events = new ArrayList<Event>();
+        long epochNanos = 1_700_000_000_123_456_789L;
+        for (int i = 0; i < 500; i++) {
+            epochNanos += i % 7 == 0 ? -1_000_000L : 1_234_567L;
+            var throwable = i % 100 == 0 ? new IllegalStateException("failure " + i) : null;
+            events.add(EventFactory.getDefaultInstance(throwable, "worker-" + i % 3, Level.values()[i % 6],
+                    MsgFactory.getDefaultInstance("order %d for %s ñ 😀", i, "customer"), epochNanos,
+                    LOGGER));
+        }
+        appendAndClose(binary, events, layout);
+        appendAndClose(AppenderFactory.getBinaryFileAppender("binary",
+                FileAppenderConfig.builder().filePath(directory.resolve("app.slog").toString()).build()), events,
+                layout);
+
+        List<String> decoded = new ArrayList<>();
+        try (var reader = new BinaryLogReader(directory.resolve("app.slog"))) {
+            Event event;
+            while ((event = reader.read()) != null) {
+                decoded.add(layout.format(event));
+            }
+            assertNull(reader.read());
+        }
+        assertEquals(1000, decoded.size());
+        for (int i = 0; i < decoded.size(); i++) {
+            // a missing throwable is decoded as an empty one, like loggers create
+            var expected = layout.format(events.get(i % events.size())).replace(" null", " ");
+            assertEquals(expected, decoded.get(i));
+        }
+        assertEquals(decoded.get(0), decoded.get(500));
+        assertTrue(Files.size(directory.resolve("app.slog")) < 1000 * 60);
+    }
+
+    @Test
+    public void deferredFormattingKeepsParameters() throws IOException {
+        Layout layout = LayoutFactory.getDefaultInstance("%msg");
+        var binary = AppenderFactory.getBinaryFileAppender("binary", FileAppenderConfig.builder()
+                .filePath(directory.resolve("deferred.slog").toString()).deferredFormatting(true).build());
+        var messages = List.of(
+                MsgFactory.getDefaultInstance("order %d of %s at %.2f %x %b %c %s", 42, "alice", 3.14159, -1, true,
+                        'z', null),
+                MsgFactory.getDefaultInstance("%d %d %d %s", (short) -3, (byte) 7, Long.MIN_VALUE, 1.5f),
+                MsgFactory.getDefaultInstance("level %s", Level.WARN),
+                MsgFactory.getDefaultInstance("plain text"));
+        var events = new ArrayList<Event>();
+        for (var message : messages) {
+            events.add(EventFactory.getDefaultInstance(null, "main", Level.INFO, message, 0L, LOGGER));
+        }
+        appendAndClose(binary, events, layout);
+
+        try (var reader = new BinaryLogReader(directory.resolve("deferred.slog"))) {
+            var first = reader.read().message();
+            assertEquals("order %d of %s at %.2f %x %b %c %s", first.getFormat());
+            assertEquals(-1, first.getParameter(3));
+            assertEquals(messages.get(0).getFormattedMessage(), first.getFormattedMessage());
+            assertEquals(messages.get(1).getFormattedMessage(), reader.read().message().getFormattedMessage());
+            var formatted = reader.read().message();
+            assertNull(formatted.getFormat());
+            assertEquals("level WARN", formatted.getFormattedMessage());
+            assertEquals("plain text", reader.read().message().getFormattedMessage());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void deferredFormattingUsesTheWriterLocale() throws IOException {
+        var path = directory.resolve("locale.slog");
+        var defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            var binary = AppenderFactory.getBinaryFileAppender("binary",
+                    FileAppenderConfig.builder().filePath(path.toString()).deferredFormatting(true).build());
+            appendAndClose(binary, List.of(EventFactory.getDefaultInstance(null, "main", Level.INFO,
+                    MsgFactory.getDefaultInstance("total %.2f", 1234.5), 0L, LOGGER)),
+                    LayoutFactory.getDefaultInstance("%msg"));
+
+            Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+            try (var reader = new BinaryLogReader(path)) {
+                assertEquals("total 1234,50", reader.read().message().getFormattedMessage());
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+    }
+
+    private void appendAndClose(Appender appender, List<Event> events, Layout layout) {
+        appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+        appender.append(new ArrayList<>(events), layout);
+        appender.close();
+    }
+}
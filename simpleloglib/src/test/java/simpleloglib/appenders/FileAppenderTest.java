@@ -0,0 +1,169 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import simpleloglib.Appender;
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class FileAppenderTest {
+    private static final Logger LOGGER = LogManager.getLogger(FileAppenderTest.class);
+    private static final Layout LAYOUT = LayoutFactory.getDefaultInstance("%msg");
+    private static final String NEW_LINE = System.lineSeparator();
+    private static final int BUFFER_SIZE = 1024;
+
+    @TempDir
+    Path directory;
+
+    private Path file() {
+        return directory.resolve("app.log");
+    }
+
+    private Appender appender(FlushPolicy flushPolicy, long flushIntervalMillis) {
+        var config = FileAppenderConfig.builder().filePath(file().toString()).flushPolicy(flushPolicy)
+                .flushIntervalMillis(flushIntervalMillis).writeBufferSize(BUFFER_SIZE).build();
+        var appender = AppenderFactory.getFileAppender("file", config);
+        appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+        return appender;
+    }
+
+    private static List<Event> events(String... messages) {
+        var events = new ArrayList<Event>();
+        for (var message : messages) {
+            events.add(EventFactory.getDefaultInstance(null, "main", Level.INFO, MsgFactory.getDefaultInstance(message),
+                    0L, LOGGER));
+        }
+        return events;
+    }
+
+    private static String lines(String... messages) {
+        var text = new StringBuilder();
+        for (var message : messages) {
+            text.append(message).append(NEW_LINE);
+        }
+        return text.toString();
+    }
+
+    private long size() throws IOException {
+        return Files.exists(file()) ? Files.size(file()) : 0L;
+    }
+
+    private String content() throws IOException {
+        return Files.readString(file(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void batchFlushesAfterEveryBatch() throws IOException {
+        var appender = appender(FlushPolicy.BATCH, 0);
+        try {
+            appender.append(events("one", "two"), LAYOUT);
+            assertEquals(lines("one", "two"), content());
+            appender.append(events("three"), LAYOUT);
+            assertEquals(lines("one", "two", "three"), content());
+        } finally {
+            appender.close();
+        }
+    }
+
+    @Test
+    public void intervalFlushesAfterTheInterval() throws IOException, InterruptedException {
+        var appender = appender(FlushPolicy.INTERVAL, 300);
+        try {
+            appender.append(events("one", "two"), LAYOUT);
+            assertEquals(0L, size());
+            long deadline = System.currentTimeMillis() + 5000;
+            while (size() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(lines("one", "two"), content());
+        } finally {
+            appender.close();
+        }
+    }
+
+    @Test
+    public void fullFlushesOnlyWhenTheBufferIsFull() throws IOException {
+        var appender = appender(FlushPolicy.FULL, 0);
+        // ten lines just under the buffer size, the eleventh does not fit
+        var line = "x".repeat(BUFFER_SIZE / 10 - NEW_LINE.length());
+        var first = new String[10];
+        Arrays.fill(first, line);
+        try {
+            appender.append(events(first), LAYOUT);
+            assertEquals(0L, size());
+            appender.append(events("last"), LAYOUT);
+            assertEquals(lines(first), content());
+        } finally {
+            appender.close();
+        }
+        assertEquals(lines(first) + lines("last"), content());
+    }
+
+    @Test
+    public void closeFlushesTheBuffer() throws IOException {
+        var appender = appender(FlushPolicy.FULL, 0);
+        appender.append(events("one", "two"), LAYOUT);
+        assertEquals(0L, size());
+        appender.close();
+        assertEquals(lines("one", "two"), content());
+    }
+
+    @Test
+    public void lineLongerThanTheBufferIsWrittenInOrder() throws IOException {
+        var appender = appender(FlushPolicy.FULL, 0);
+        var longLine = "y".repeat(3 * BUFFER_SIZE);
+        try {
+            appender.append(events("before", longLine), LAYOUT);
+            // the buffered line goes first, then the long one straight to the file
+            assertEquals(lines("before", longLine), content());
+            appender.append(events("after"), LAYOUT);
+        } finally {
+            appender.close();
+        }
+        assertEquals(lines("before", longLine, "after"), content());
+    }
+
+    @Test
+    public void appendsToAnExistingFile() throws IOException {
+        Files.writeString(file(), lines("existing"));
+        var appender = appender(FlushPolicy.BATCH, 0);
+        appender.append(events("new"), LAYOUT);
+        appender.close();
+        var reopened = appender(FlushPolicy.BATCH, 0);
+        reopened.append(events("reopened"), LAYOUT);
+        reopened.close();
+        assertEquals(lines("existing", "new", "reopened"), content());
+    }
+}
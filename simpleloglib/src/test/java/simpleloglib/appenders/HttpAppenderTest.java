@@ -0,0 +1,85 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import simpleloglib.Event;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class HttpAppenderTest {
+    private static final Logger LOGGER = LogManager.getLogger(HttpAppenderTest.class);
+
+    private Event event(Level level, String message) {
+        return EventFactory.getDefaultInstance(null, "main", level, MsgFactory.getDefaultInstance(message), 0L,
+                LOGGER);
+    }
+
+    @Test
+    public void rejectedBatchLeavesNextBodyValid() throws IOException, InterruptedException {
+        BlockingQueue<String> bodies = new LinkedBlockingQueue<>();
+        var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/logs", exchange -> {
+            try (var body = exchange.getRequestBody()) {
+                bodies.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            var url = "http://127.0.0.1:%d/logs".formatted(server.getAddress().getPort());
+            var appender = AppenderFactory.getHttpAppender("http", HttpAppenderConfig.builder().url(url)
+                    .maxInFlightRequests(1).build());
+            appender.setFilter(FilterFactory.getDefaultFilter(Level.WARN));
+            var layout = LayoutFactory.getDefaultInstance("%msg");
+            appender.append(List.of(event(Level.INFO, "rejected")), layout);
+            appender.append(List.of(event(Level.WARN, "first"), event(Level.ERROR, "second")), layout);
+            appender.append(List.of(event(Level.WARN, "third")), layout);
+
+            var mapper = new ObjectMapper();
+            for (var expected : List.of(2, 1)) {
+                var body = bodies.poll(10, TimeUnit.SECONDS);
+                assertNotNull(body);
+                assertEquals(expected, mapper.readTree(body).size(), body);
+            }
+            assertNull(bodies.poll(200, TimeUnit.MILLISECONDS));
+            appender.close();
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import simpleloglib.Event;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class JDBCAppenderTest {
+    private static final Logger LOGGER = LogManager.getLogger(JDBCAppenderTest.class);
+
+    @TempDir
+    Path directory;
+
+    private JDBCAppenderConfig config(String url, boolean bulkInsert) {
+        var names = List.of("event_id", "event_date", "level", "message", "logger", "thread");
+        var columns = new ArrayList<Column>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.add(new Column(names.get(i), i + 1));
+        }
+        return JDBCAppenderConfig.builder().tableName("application_log").columns(columns).connectURI(url)
+                .batchSize(200).bulkInsert(bulkInsert).maxParameters(999).build();
+    }
+
+    private long insert(boolean bulkInsert) throws SQLException {
+        var url = "jdbc:sqlite:" + directory.resolve(bulkInsert + ".db");
+        try (var connection = DriverManager.getConnection(url); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE application_log (event_id TEXT, event_date TIMESTAMP, level TEXT, "
+                    + "message TEXT, logger TEXT, thread TEXT)");
+        }
+        var appender = AppenderFactory.getJDBCAppender("db", config(url, bulkInsert));
+        appender.setFilter(FilterFactory.getDefaultFilter(Level.INFO));
+        var events = new ArrayList<Event>();
+        for (int i = 0; i < 1234; i++) {
+            events.add(EventFactory.getDefaultInstance(null, "main", i % 2 == 0 ? Level.INFO : Level.DEBUG,
+                    MsgFactory.getDefaultInstance("row %d", i), OffsetDateTime.now(), LOGGER));
+        }
+        appender.append(events, LayoutFactory.getDefaultInstance("%msg"));
+        try (var connection = DriverManager.getConnection(url);
+                var statement = connection.createStatement();
+                var result = statement.executeQuery("SELECT COUNT(*) FROM application_log WHERE level = 'INFO'")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    @Test
+    public void batchInsert() throws SQLException {
+        assertEquals(617, insert(false));
+    }
+
+    @Test
+    public void bulkInsert() throws SQLException {
+        assertEquals(617, insert(true));
+    }
+
+    @Test
+    public void rejectedBatchOpensNoConnection() {
+        var connections = new AtomicInteger();
+        var columns = List.of(new Column("message", 4));
+        for (boolean bulkInsert : List.of(false, true)) {
+            var config = JDBCAppenderConfig.builder().tableName("application_log").columns(columns)
+                    .connectionFactory(() -> {
+                        connections.incrementAndGet();
+                        throw new SQLException("no database");
+                    }).bulkInsert(bulkInsert).build();
+            var appender = AppenderFactory.getJDBCAppender("db", config);
+            appender.setFilter(FilterFactory.getDefaultFilter(Level.ERROR));
+            var events = new ArrayList<Event>();
+            for (int i = 0; i < 10; i++) {
+                events.add(EventFactory.getDefaultInstance(null, "main", Level.INFO,
+                        MsgFactory.getDefaultInstance("row %d", i), OffsetDateTime.now(), LOGGER));
+            }
+            appender.append(events, LayoutFactory.getDefaultInstance("%msg"));
+        }
+        assertEquals(0, connections.get());
+    }
+
+    @Test
+    public void multiRowSql() {
+        var config = config("jdbc:sqlite::memory:", true);
+        assertEquals(166, config.rowsPerStatement());
+        assertEquals("INSERT INTO application_log (event_id, event_date, level, message, logger, thread) VALUES "
+                + "(?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?)", config.slq(2));
+    }
+}
@@ -0,0 +1,94 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import simpleloglib.Appender;
+import simpleloglib.Event;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class MemoryMappedFileAppenderTest {
+    private static final Logger LOGGER = LogManager.getLogger(MemoryMappedFileAppenderTest.class);
+    private static final Layout LAYOUT = LayoutFactory.getDefaultInstance("%msg");
+    private static final long REGION_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    private Appender appender(Path file) {
+        var config = FileAppenderConfig.builder().filePath(file.toString()).mapRegionSize(REGION_SIZE).build();
+        var appender = AppenderFactory.getMemoryMappedFileAppender("mmap", config);
+        appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+        return appender;
+    }
+
+    private static String write(Appender appender, int first, int count) {
+        var events = new ArrayList<Event>();
+        var expected = new StringBuilder();
+        for (int i = first; i < first + count; i++) {
+            var message = "line %03d %s".formatted(i, "z".repeat(i % 40));
+            events.add(EventFactory.getDefaultInstance(null, "main", Level.INFO, MsgFactory.getDefaultInstance(message),
+                    0L, LOGGER));
+            expected.append(message).append(System.lineSeparator());
+        }
+        // one batch and then single events, both cross region boundaries
+        appender.append(events.subList(0, count / 2), LAYOUT);
+        for (var event : events.subList(count / 2, count)) {
+            appender.append(List.of(event), LAYOUT);
+        }
+        return expected.toString();
+    }
+
+    @Test
+    public void truncatesToTheWrittenBytesAndAppendsAfterThem() throws IOException {
+        var file = directory.resolve("app.log");
+        var appender = appender(file);
+        var expected = write(appender, 0, 60);
+        // also larger than a region on its own
+        var longLine = "w".repeat((int) REGION_SIZE * 2);
+        appender.append(EventFactory.getDefaultInstance(null, "main", Level.INFO,
+                MsgFactory.getDefaultInstance(longLine), 0L, LOGGER), LAYOUT);
+        expected += longLine + System.lineSeparator();
+        appender.close();
+
+        var bytes = expected.getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, Files.size(file));
+        assertEquals(expected, Files.readString(file));
+
+        var reopened = appender(file);
+        expected += write(reopened, 60, 20);
+        reopened.close();
+        assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, Files.size(file));
+        assertEquals(expected, Files.readString(file));
+    }
+}
@@ -0,0 +1,87 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.appenders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import simpleloglib.Event;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.events.EventFactory;
+import simpleloglib.filters.FilterFactory;
+import simpleloglib.layouts.LayoutFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class RollingFileAppenderTest {
+    private static final Logger LOGGER = LogManager.getLogger(RollingFileAppenderTest.class);
+
+    @TempDir
+    Path directory;
+
+    private List<String> rolledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("app\\.log\\.\\d{8}-.*"))
+                    .toList();
+        }
+    }
+
+    @Test
+    public void sizeRolloverKeepsMaxHistoryAndForeignFiles() throws IOException, InterruptedException {
+        var foreign = List.of("app.log.bak", "app.log.json", "app.log.err", "app.log.2024");
+        for (var name : foreign) {
+            Files.writeString(directory.resolve(name), name);
+        }
+        var config = FileAppenderConfig.builder().filePath(directory.resolve("app.log").toString())
+                .maxFileSize(1000).maxHistory(2).build();
+        var appender = AppenderFactory.getRollingFileAppender("rolling", config);
+        appender.setFilter(FilterFactory.getDefaultFilter(Level.TRACE));
+        var layout = LayoutFactory.getDefaultInstance("%msg");
+        for (int batch = 0; batch < 20; batch++) {
+            var events = new ArrayList<Event>();
+            for (int i = 0; i < 5; i++) {
+                events.add(EventFactory.getDefaultInstance(null, "main", Level.INFO,
+                        MsgFactory.getDefaultInstance("line %03d %s", batch * 5 + i, "x".repeat(90)), 0L, LOGGER));
+            }
+            appender.append(events, layout);
+            Thread.sleep(2);
+        }
+        appender.close();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline && (rolledFiles().size() != 2
+                || !rolledFiles().stream().allMatch(name -> name.endsWith(".gz")))) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, rolledFiles().size(), rolledFiles().toString());
+        for (var name : foreign) {
+            assertEquals(name, Files.readString(directory.resolve(name)));
+        }
+        assertTrue(Files.size(directory.resolve("app.log")) <= 1000);
+        assertTrue(Files.readString(directory.resolve("app.log")).contains("line 099"));
+    }
+}
@@ -0,0 +1,76 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ExecutorFactoryTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void virtualExecutorRunsTasksPastTheBoundOnTheCaller() throws InterruptedException {
+        int maxTasks = 2;
+        var executor = ExecutorFactory.getVirtualInstance(maxTasks);
+        var started = new CountDownLatch(maxTasks);
+        var release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < maxTasks; i++) {
+                executor.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(maxTasks, ExecutorFactory.getActiveCount(executor));
+
+            var runner = new AtomicReference<Thread>();
+            executor.execute(() -> runner.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), runner.get());
+            assertEquals(maxTasks, ExecutorFactory.getActiveCount(executor));
+            assertEquals(0, ExecutorFactory.getQueuedCount(executor));
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+            while (ExecutorFactory.getActiveCount(executor) > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, ExecutorFactory.getActiveCount(executor));
+
+            var virtual = new CountDownLatch(1);
+            executor.execute(() -> {
+                runner.set(Thread.currentThread());
+                virtual.countDown();
+            });
+            assertTrue(virtual.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertTrue(runner.get().isVirtual());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.layouts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+import simpleloglib.Event;
+import simpleloglib.Level;
+import simpleloglib.Logger;
+import simpleloglib.clocks.ClockFactory;
+import simpleloglib.events.EventFactory;
+import simpleloglib.loggers.LogManager;
+import simpleloglib.messages.MsgFactory;
+
+public class LayoutTest {
+    private static final Logger LOGGER = LogManager.getLogger(LayoutTest.class);
+
+    private Event event(String message) {
+        return event(message, OffsetDateTime.parse("2024-10-06T11:14:00.259286-03:00"));
+    }
+
+    private Event event(String message, OffsetDateTime date) {
+        return EventFactory.getDefaultInstance(new IllegalStateException("boom"), "main", Level.WARN,
+                MsgFactory.getDefaultInstance(message), date, LOGGER);
+    }
+
+    private String local(OffsetDateTime date) {
+        return date.atZoneSameInstant(ZoneId.systemDefault()).toOffsetDateTime().toString();
+    }
+
+    @Test
+    public void defaultLayout() {
+        var layout = LayoutFactory.getDefaultInstance("[%level] %date - %logger - %thread : %msg %throwable");
+        assertEquals("[WARN] 2024-10-06T11:14:00.259286-03:00 - simpleloglib.layouts.LayoutTest - main : hi "
+                + "java.lang.IllegalStateException: boom", layout.format(event("hi")));
+    }
+
+    @Test
+    public void dateMatchesOffsetDateTime() {
+        var layout = LayoutFactory.getDefaultInstance("%date");
+        for (var text : new String[] { "2024-10-06T11:14:00Z", "2024-10-06T11:14:07Z", "2024-10-06T11:14:00.5Z",
+                "2024-10-06T11:14:59.123Z", "2024-10-06T11:14:59.000123Z", "2024-10-06T11:14:59.000000123Z",
+                "1969-12-31T23:59:59.999Z", "2024-10-06T11:14:00.259286-03:00", "2024-10-06T11:14:00+05:30" }) {
+            var date = OffsetDateTime.parse(text);
+            assertEquals(date.toString(), layout.format(event("", date)));
+        }
+    }
+
+    @Test
+    public void primitiveTimestamp() {
+        var layout = LayoutFactory.getDefaultInstance("%date");
+        var date = OffsetDateTime.parse("2024-10-06T11:14:00.259286-03:00");
+        var clock = ClockFactory.getFixedInstance(date.toEpochSecond() * 1_000_000_000L + date.getNano());
+        var event = EventFactory.getDefaultInstance(null, "main", Level.INFO, MsgFactory.getDefaultInstance(""),
+                clock.epochNanos(), LOGGER);
+        assertEquals(local(date), layout.format(event));
+        assertEquals(date.toInstant(), event.timestamp().toInstant());
+    }
+
+    @Test
+    public void repeatedTokensAndLiteralPercent() {
+        var layout = LayoutFactory.getDefaultInstance("%level %level 100% %msg%msg %unknown");
+        assertEquals("WARN WARN 100% ab%cab%c %unknown", layout.format(event("ab%c")));
+        layout = LayoutFactory.getDefaultInstance("%level%n100%% %%msg %msg%n");
+        var newLine = System.lineSeparator();
+        assertEquals("WARN" + newLine + "100% %msg ab%c" + newLine, layout.format(event("ab%c")));
+    }
+}
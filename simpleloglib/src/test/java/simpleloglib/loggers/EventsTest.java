@@ -0,0 +1,237 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package simpleloglib.loggers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static simpleloglib.TestEvents.event;
+import static simpleloglib.TestEvents.messages;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import simpleloglib.Appender;
+import simpleloglib.CapturingAppender;
+import simpleloglib.DroppedEvents;
+import simpleloglib.Event;
+import simpleloglib.Filter;
+import simpleloglib.Layout;
+import simpleloglib.Level;
+import simpleloglib.OverflowPolicy;
+import simpleloglib.Pipeline;
+import simpleloglib.layouts.LayoutFactory;
+
+public class EventsTest {
+    private static final long TIMEOUT_SECONDS = CapturingAppender.TIMEOUT_SECONDS;
+    private static final long STALL_MILLIS = 200;
+
+    /**
+     * Counts the events it gets and whether any came after it was closed.
+     */
+    private static class CountingAppender implements Appender {
+        final String name;
+        final AtomicInteger events = new AtomicInteger();
+        final AtomicInteger closes = new AtomicInteger();
+        volatile boolean appendedAfterClose;
+
+        CountingAppender(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void append(Event event, Layout layout) {
+            append(List.of(event), layout);
+        }
+
+        @Override
+        public void append(Collection<Event> events, Layout layout) {
+            appendedAfterClose |= closes.get() > 0;
+            this.events.addAndGet(events.size());
+        }
+
+        @Override
+        public void close() {
+            closes.incrementAndGet();
+        }
+
+        @Override
+        public void setFilter(Filter filter) {
+        }
+    }
+
+    private CapturingAppender appender;
+    private Events events;
+
+    /**
+     * Starts a consumer over a buffer of 4 slots, stalls it on event 0 and
+     * fills the buffer with events 1 to 4.
+     */
+    private void startFull(OverflowPolicy policy) throws InterruptedException {
+        appender = CapturingAppender.stalled();
+        var pipeline = new Pipeline(List.of(appender), LayoutFactory.getDefaultInstance("%msg"), Level.TRACE,
+                Map.of());
+        events = new Events(4, 1, policy, Level.WARN, false, () -> pipeline);
+        events.handleEvent(event(Level.INFO, 0), 0L);
+        assertTrue(appender.entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            events.handleEvent(event(Level.INFO, i), 0L);
+        }
+        assertEquals(4, events.queueDepth());
+    }
+
+    private Thread produce(Event event) {
+        return Thread.ofPlatform().name("producer").start(() -> events.handleEvent(event, 0L));
+    }
+
+    private void resumeAndAwait(int count) throws InterruptedException {
+        appender.resume.countDown();
+        appender.await(count);
+    }
+
+    @AfterEach
+    public void stop() {
+        if (appender != null) {
+            appender.resume.countDown();
+        }
+        if (events != null) {
+            events.stop();
+        }
+    }
+
+    @Test
+    public void swapsPipelinesWhileLogging() throws InterruptedException {
+        var layout = LayoutFactory.getDefaultInstance("%msg");
+        var shared = new CountingAppender("shared");
+        var replaced = new ArrayList<CountingAppender>();
+        replaced.add(new CountingAppender("pipeline-0"));
+        var latest = new AtomicReference<>(new Pipeline(List.of(shared, replaced.get(0)), layout, Level.TRACE,
+                Map.of()));
+        events = new Events(64, 8, OverflowPolicy.BLOCK, Level.WARN, false, latest::get);
+
+        int producers = 4;
+        int perProducer = 5000;
+        var threads = new ArrayList<Thread>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    events.handleEvent(event(Level.INFO, i), 0L);
+                }
+            }));
+        }
+        // swaps without waiting for the consumer, which then skips pipelines
+        for (int i = 1; i <= 200; i++) {
+            var added = new CountingAppender("pipeline-" + i);
+            replaced.add(added);
+            var next = new Pipeline(List.of(shared, added), layout, Level.TRACE, Map.of());
+            latest.get().supersede(next);
+            latest.set(next);
+            Thread.sleep(0, 50_000);
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        events.stop();
+        events = null;
+
+        int total = producers * perProducer;
+        assertEquals(total, shared.events.get());
+        assertEquals(total, replaced.stream().mapToInt(counting -> counting.events.get()).sum());
+        for (var counting : replaced) {
+            assertEquals(1, counting.closes.get(), counting.name);
+            assertFalse(counting.appendedAfterClose, counting.name);
+        }
+        assertEquals(1, shared.closes.get());
+        assertFalse(shared.appendedAfterClose);
+    }
+
+    @Test
+    public void blockWaitsForRoom() throws InterruptedException {
+        startFull(OverflowPolicy.BLOCK);
+        var producer = produce(event(Level.INFO, 5));
+        producer.join(STALL_MILLIS);
+        assertTrue(producer.isAlive());
+        resumeAndAwait(6);
+        producer.join();
+        assertEquals(messages(0, 1, 2, 3, 4, 5), appender.messages);
+    }
+
+    @Test
+    public void dropNewestDropsTheNewEvent() throws InterruptedException {
+        startFull(OverflowPolicy.DROP_NEWEST);
+        long dropped = DroppedEvents.total();
+        events.handleEvent(event(Level.ERROR, 5), 0L);
+        assertEquals(dropped + 1, DroppedEvents.total());
+        resumeAndAwait(5);
+        assertEquals(messages(0, 1, 2, 3, 4), appender.messages);
+    }
+
+    @Test
+    public void dropOldestEvictsWithoutWaiting() throws InterruptedException {
+        startFull(OverflowPolicy.DROP_OLDEST);
+        long dropped = DroppedEvents.total();
+        assertTimeoutPreemptively(Duration.ofSeconds(TIMEOUT_SECONDS), () -> {
+            events.handleEvent(event(Level.INFO, 5), 0L);
+            events.handleEvent(event(Level.INFO, 6), 0L);
+        });
+        assertEquals(dropped + 2, DroppedEvents.total());
+        assertEquals(4, events.queueDepth());
+        resumeAndAwait(5);
+        assertEquals(messages(0, 3, 4, 5, 6), appender.messages);
+    }
+
+    @Test
+    public void dropBelowLevelKeepsTheOverflowLevel() throws InterruptedException {
+        startFull(OverflowPolicy.DROP_BELOW_LEVEL);
+        long dropped = DroppedEvents.count(Level.INFO);
+        events.handleEvent(event(Level.INFO, 5), 0L);
+        assertEquals(dropped + 1, DroppedEvents.count(Level.INFO));
+        var producer = produce(event(Level.WARN, 6));
+        producer.join(STALL_MILLIS);
+        assertTrue(producer.isAlive());
+        resumeAndAwait(6);
+        producer.join();
+        assertEquals(messages(0, 1, 2, 3, 4, 6), appender.messages);
+    }
+
+    @Test
+    public void synchronousAppendsOnTheCallerThread() throws InterruptedException {
+        startFull(OverflowPolicy.SYNCHRONOUS);
+        var producer = produce(event(Level.INFO, 5));
+        producer.join(STALL_MILLIS);
+        assertTrue(producer.isAlive(), "the caller waits for the appender lock");
+        resumeAndAwait(6);
+        producer.join();
+        assertEquals(6, appender.messages.size());
+        assertTrue(appender.messages.containsAll(messages(0, 1, 2, 3, 4, 5)));
+        int index = appender.messages.indexOf("event 5");
+        assertEquals("producer", appender.threads.get(index));
+    }
+}
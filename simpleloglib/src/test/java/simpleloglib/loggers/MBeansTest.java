@@ -0,0 +1,106 @@
+/* Copyright 2024 Miguel Angel Luna Lobos
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package simpleloglib.loggers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import simpleloglib.Appender;
+import simpleloglib.CapturingAppender;
+import simpleloglib.Config;
+import simpleloglib.DroppedEvents;
+import simpleloglib.Level;
+
+public class MBeansTest {
+    private static final String[] TWO_STRINGS = { String.class.getName(), String.class.getName() };
+    private static final String[] ONE_STRING = { String.class.getName() };
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private Collection<Appender> previousAppenders;
+
+    public interface ForeignMBean {
+        String getOwner();
+    }
+
+    @BeforeEach
+    public void registerBeans() {
+        // loading LogManager registers the MBeans
+        LogManager.getLogger(MBeansTest.class);
+        previousAppenders = Config.SINGLETON.getAppenders();
+    }
+
+    @AfterEach
+    public void restore() {
+        Config.SINGLETON.setAppenders(previousAppenders);
+        Config.SINGLETON.setLoggerLevel("simpleloglib.jmx", null);
+    }
+
+    @Test
+    public void pipelineBeanReadsMetricsAndControlsLevels() throws Exception {
+        var flushes = new AtomicInteger();
+        Config.SINGLETON.setAppenders(List.of(new CapturingAppender("jmx") {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        }));
+        var pipeline = new ObjectName("simpleloglib:type=Pipeline");
+
+        assertTrue((Long) server.getAttribute(pipeline, "QueueDepth") >= 0);
+        assertEquals(DroppedEvents.total(), server.getAttribute(pipeline, "DroppedEvents"));
+
+        server.invoke(pipeline, "setLevel", new Object[] { "simpleloglib.jmx", "error" }, TWO_STRINGS);
+        assertEquals(Level.ERROR, Config.SINGLETON.getEffectiveLevel("simpleloglib.jmx.child"));
+        assertEquals("ERROR", server.invoke(pipeline, "getLevel", new Object[] { "simpleloglib.jmx" }, ONE_STRING));
+
+        server.invoke(pipeline, "removeLevel", new Object[] { "simpleloglib.jmx" }, ONE_STRING);
+        assertNotEquals(Level.ERROR, Config.SINGLETON.getEffectiveLevel("simpleloglib.jmx"));
+
+        server.invoke(pipeline, "flush", new Object[0], new String[0]);
+        assertEquals(1, flushes.get());
+        assertTrue(server.isRegistered(MBeans.appenderName("jmx")));
+    }
+
+    @Test
+    public void namesTakenElsewhereAreLeftAlone() throws Exception {
+        var name = MBeans.appenderName("foreign");
+        ForeignMBean foreign = () -> "other copy";
+        server.registerMBean(new StandardMBean(foreign, ForeignMBean.class), name);
+        try {
+            Config.SINGLETON.setAppenders(List.of(new CapturingAppender("foreign")));
+            assertEquals("other copy", server.getAttribute(name, "Owner"));
+
+            Config.SINGLETON.setAppenders(previousAppenders);
+            assertEquals("other copy", server.getAttribute(name, "Owner"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}